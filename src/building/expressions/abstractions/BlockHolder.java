@@ -1,6 +1,8 @@
 package building.expressions.abstractions;
 
 import building.expressions.abstractions.interfaces.*;
+import building.expressions.main.*;
+import building.expressions.main.blueprints.*;
 import building.expressions.main.functions.*;
 import building.expressions.main.statements.*;
 import building.expressions.normal.brackets.*;
@@ -34,19 +36,54 @@ public abstract class BlockHolder extends MainExpression {
 	public final int getEnd() { return ob.getMatch(); }
 	
 	/**
-	 * Calls the line after the {@link OpenBlock}.
+	 * Runs the block of this {@link BlockHolder} from the line after the {@link OpenBlock}.
 	 *
 	 * @return false if this function shouldn't call any other functions afterwards.
 	 * {@link ReturnStatement#execute}
 	 */
 	public final boolean callFirstLine() {
-		return Interpreter.execute(getStart() + 1);
+		return Interpreter.run(getStart() + 1);
 	}
 	
-	/** Calls the next line after the closing {@link BlockBracket}. */
+	/** Returns the lineID of the first line in this block. Enters the block, if returned by {@link #enter}. */
+	public final int firstLine() {
+		return getStart() + 1;
+	}
+	
+	/** Returns the lineID of the next line after the closing {@link BlockBracket}. */
+	@Override
+	public final int nextLine() {
+		return getEnd() + 1;
+	}
+	
+	/** A {@link BlockHolder} gets executed by the {@link Interpreter} through {@link #enter}. */
 	@Override
-	public final boolean callNextLine() {
-		return Interpreter.execute(getEnd() + 1);
+	public final int execute() {
+		throw new AssertionError("A " + getClass().getSimpleName() + " has to be entered, not executed.");
+	}
+	
+	/**
+	 * Executes the head of this {@link BlockHolder}.
+	 *
+	 * @param frame is the {@link BlockFrame} of this activation. It gets pushed onto the control-stack
+	 * of the {@link Interpreter}, if {@link #firstLine()} gets returned.
+	 * @return the lineID of the next line.
+	 *
+	 * @throws AssertionError if this supports no direct execution. (See
+	 * {@link Definition}/{@link Blueprint})
+	 */
+	public abstract int enter(BlockFrame frame);
+	
+	/**
+	 * Gets called by the {@link Interpreter}, when the {@link CloseBlock} of an entered block is
+	 * reached.
+	 *
+	 * @param frame is the {@link BlockFrame} that was returned from {@link #enter}.
+	 * @return {@link #firstLine()} to repeat the block, or the lineID of the next line. Default:
+	 * {@link #nextLine()}
+	 */
+	public int leave(BlockFrame frame) {
+		return nextLine();
 	}
 	
 }
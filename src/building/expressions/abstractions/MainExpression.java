@@ -1,7 +1,5 @@
 package building.expressions.abstractions;
 
-import building.expressions.main.blueprints.*;
-import building.expressions.main.functions.*;
 import building.types.abstractions.*;
 import interpreting.modules.interpreter.*;
 
@@ -22,21 +20,20 @@ public abstract class MainExpression extends Expression {
 		super(lineID, myType);
 	}
 	
-	/** Calls the next line. Write this after every return in nearly every {@link MainExpression}. */
-	public boolean callNextLine() {
-		return Interpreter.execute(lineIdentifier + 1);
+	/** Returns the lineID of the next line. Return this in nearly every {@link MainExpression}. */
+	public int nextLine() {
+		return lineIdentifier + 1;
 	}
 	
 	/**
 	 * Executes this {@link MainExpression}
 	 *
-	 * @return boolean that tells if the next function should be executed or not. Is nearly exclusivly
-	 * used by the ReturnStatement.
+	 * @return the lineID of the line that gets executed next, or one of the signals
+	 * {@link Interpreter#RETURN} and {@link Interpreter#END_OF_BLOCK}.
 	 *
-	 * @throws AssertionError if this supports no direct execution. (See
-	 * {@link Definition}/{@link Blueprint})
+	 * @throws AssertionError if this supports no direct execution. (See {@link BlockHolder})
 	 */
-	public abstract boolean execute();
+	public abstract int execute();
 	
 	/** Returns true if this is a MainExpression. Returns false if this is a PossibleMainExpression. */
 	@Override
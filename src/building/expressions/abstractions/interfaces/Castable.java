@@ -4,6 +4,7 @@ import building.types.specific.datatypes.*;
 import errorhandeling.*;
 import misc.constants.*;
 import runtime.datatypes.*;
+import runtime.datatypes.array.*;
 import runtime.datatypes.numerical.*;
 import runtime.datatypes.textual.*;
 
@@ -46,4 +47,9 @@ public interface Castable {
 	default BoolValue asBool() throws NonExpressionException {
 		return (BoolValue) as(TypeConstants.BOOL);
 	}
+	
+	/** Casts to a {@link TypeConstants#VAR_ARR}. An {@link ArrayValue} gets returned as it is. */
+	default ArrayValue asVarArray() throws NonExpressionException {
+		return (ArrayValue) as(TypeConstants.VAR_ARR);
+	}
 }
@@ -0,0 +1,54 @@
+package building.expressions.abstractions.interfaces;
+
+import building.expressions.normal.brackets.*;
+import building.expressions.normal.casting.*;
+import building.expressions.normal.containers.*;
+import building.expressions.normal.operators.*;
+import interpreting.modules.merger.*;
+import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.dict.*;
+
+/**
+ * A {@link ValueHolder} that gets evaluated only once, if all of its inputs are constant.
+ *
+ * <pre>
+ * Every subclass that caches its {@link Value} should contain:
+ * private Value folded = null;
+ * </pre>
+ *
+ * @see Literal
+ * @see Operation
+ * @see ExplicitCast
+ * @see BracketedExpression
+ * @see ConstantFolder
+ */
+public interface Foldable extends ValueHolder {
+	
+	/** Returns true, if this always evaluates to the same {@link Value} without any side-effects. */
+	boolean isConstant();
+	
+	/**
+	 * Folds all constant subtrees of this {@link Foldable}, and then this itself, if it is
+	 * {@link #isConstant()}. Every following {@link #getValue()} returns the cached {@link Value}.
+	 *
+	 * @see ConstantFolder#evaluate(Foldable)
+	 */
+	void fold();
+	
+	/**
+	 * Returns true, if the passed {@link ValueHolder} is a constant {@link Foldable} or an immutable
+	 * {@link Value}.
+	 */
+	static boolean isConstant(ValueHolder vh) {
+		if (vh instanceof Foldable f)
+			return f.isConstant();
+		return vh instanceof Value && !(vh instanceof ArrayValue) && !(vh instanceof DictValue);
+	}
+	
+	/** Folds the passed {@link ValueHolder}, if it is a {@link Foldable}. */
+	static void fold(ValueHolder vh) {
+		if (vh instanceof Foldable f)
+			f.fold();
+	}
+}
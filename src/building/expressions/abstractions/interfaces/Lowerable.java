@@ -0,0 +1,27 @@
+package building.expressions.abstractions.interfaces;
+
+import building.expressions.abstractions.*;
+import building.expressions.main.statements.*;
+import building.expressions.normal.containers.*;
+import building.expressions.normal.operators.*;
+import building.expressions.possible.*;
+import interpreting.modules.interpreter.*;
+import runtime.datatypes.*;
+
+/**
+ * An {@link AbstractExpression}, that can lower itself into the instructions of the
+ * {@link VirtualMachine}.
+ *
+ * A {@link ValueHolder} leaves its {@link Value} on the operand-stack. Every part, that doesn't
+ * implement this, gets evaluated by the tree walker instead. (See {@link Assembler#value})
+ *
+ * @see Operation
+ * @see ArrayAccess
+ * @see Call
+ * @see ReturnStatement
+ */
+public interface Lowerable {
+	
+	/** Emits the instructions of this expression. */
+	void lower(Assembler asm);
+}
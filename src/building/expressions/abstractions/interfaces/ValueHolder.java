@@ -11,6 +11,7 @@ import building.expressions.possible.multicall.*;
 import building.types.specific.datatypes.*;
 import errorhandeling.*;
 import runtime.datatypes.*;
+import runtime.datatypes.array.*;
 
 /**
  * An interface for everything that can return a {@link Value} in code.
@@ -25,6 +26,7 @@ import runtime.datatypes.*;
  * Boxed ValueHolders
  * {@link IsStatement}
  * {@link Operation}
+ * {@link RangeExpression}
  * {@link BracketedExpression}
  * {@link Assignment}
  * {@link MultiCall}
@@ -45,6 +47,12 @@ public interface ValueHolder extends Operatable, Castable {
 		return getValue().as(t);
 	}
 	
+	/** This should only get overridden by {@link Value} and {@link ArrayValue}! */
+	@Override
+	default ArrayValue asVarArray() throws NonExpressionException {
+		return getValue().asVarArray();
+	}
+	
 	/**
 	 * Throws a "CastingException".
 	 *
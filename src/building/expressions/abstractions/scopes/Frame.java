@@ -0,0 +1,56 @@
+package building.expressions.abstractions.scopes;
+
+import java.util.*;
+
+import building.expressions.main.functions.*;
+import building.expressions.main.statements.*;
+import building.expressions.normal.containers.*;
+import interpreting.modules.merger.*;
+import runtime.datatypes.*;
+
+/**
+ * The array-backed activation of a {@link Definition}, that holds all of its local
+ * {@link Variable}s.
+ *
+ * Every local name gets its slot from the {@link SlotResolver} at merge time, so reading or
+ * writing a local is just an array-access. Finished {@link Frame}s get recycled by the
+ * {@link ScopeManager.ScopeStack}.
+ *
+ * @see ScopeManager.ScopeStack
+ */
+public final class Frame {
+	
+	/** The {@link Frame} of the calling {@link Definition}. Null for the outermost call. */
+	Frame caller;
+	
+	/** The local {@link Variable}s (including the parameters), indexed by their slot. */
+	final Variable[] slots;
+	
+	/** The amount of slots, that the current activation uses. */
+	int size;
+	
+	/** The return-value of this activation. Null until a {@link ReturnStatement} sets it. */
+	Value returnVal;
+	
+	Frame(int capacity) {
+		this.slots = new Variable[capacity];
+	}
+	
+	/** Prepares this {@link Frame} for a new activation. */
+	void init(Frame caller, int size) {
+		this.caller = caller;
+		this.size = size;
+	}
+	
+	/** Clears all locals of this activation. */
+	void reset() {
+		Arrays.fill(slots, 0, size, null);
+	}
+	
+	/** Clears this {@link Frame}, so that it can get recycled. */
+	void clear() {
+		reset();
+		caller = null;
+		returnVal = null;
+	}
+}
@@ -9,6 +9,7 @@ import building.expressions.normal.containers.*;
 import building.expressions.normal.containers.name.*;
 import errorhandeling.*;
 import misc.util.*;
+import runtime.datatypes.*;
 
 public class ScopeManager {
 	
@@ -58,50 +59,110 @@ public class ScopeManager {
 	
 	public static final ScopeStack STACK = new ScopeStack();
 	
-	/** Every {@link Variable} that gets defined in a {@link ScopeHolder}. */
+	/**
+	 * Every {@link Variable} that gets defined in a {@link ScopeHolder}.
+	 *
+	 * Locals with a resolved slot (See {@link Name#getSlot()}) get saved in the {@link Frame} of the
+	 * running {@link Definition}. All other {@link Variable}s fall back to name-keyed {@link Scope}s.
+	 */
 	public static class ScopeStack {
 		
-		private final Stack<Scope> STACK = new Stack<>();
+		/** The maximum amount of finished {@link Frame}s, that get kept for recycling. */
+		private static final int POOL_CAPACITY = 256;
+		
+		/** The {@link Frame} of the running {@link Definition}. */
+		private Frame top = null;
+		
+		/** Finished {@link Frame}s, that can get reused by the next call. */
+		private final ArrayDeque<Frame> pool = new ArrayDeque<>();
+		
+		/** The name-keyed fallback. The bottom {@link Scope} holds the global {@link Variable}s. */
+		private final ArrayList<Scope> STACK = new ArrayList<>(List.of(new Scope()));
+		
+		/** Pushes a new {@link Frame} with the passed number of slots, for a called {@link Definition}. */
+		public void pushFrame(int size) {
+			Frame f = pool.poll();
+			if (f == null || f.slots.length < size)
+				f = new Frame(size);
+			f.init(top, size);
+			top = f;
+		}
+		
+		/** Pops the {@link Frame} of the returning {@link Definition} and recycles it. */
+		public void popFrame() {
+			Frame f = top;
+			top = f.caller;
+			f.clear();
+			if (pool.size() < POOL_CAPACITY)
+				pool.push(f);
+		}
+		
+		/** Clears all locals in the {@link Frame} of the running {@link Definition}. */
+		public void resetFrame() {
+			top.reset();
+		}
+		
+		/** Returns the local in the slot of the running {@link Definition}, or null if it isn't set. */
+		public Variable local(int slot) {
+			return top != null ? top.slots[slot] : null;
+		}
+		
+		/** Returns the return-value of the running {@link Definition}, or null if it has none (yet). */
+		public Value getReturnValue() { return top.returnVal; }
+		
+		/** Sets the return-value of the running {@link Definition}. */
+		public void setReturnValue(Value val) {
+			top.returnVal = val;
+		}
 		
 		/** Allocates a new {@link Scope} on this {@link ScopeStack}. */
 		public void allocate() {
-			if (STACK.isEmpty())
-				STACK.push(new Scope());
-			else
-				STACK.peek().emptyframes++;
+			peek().emptyframes++;
 		}
 		
 		/** Frees the top {@link Scope} on this {@link ScopeStack}. */
 		public void free() {
-			if (STACK.peek().emptyframes == 0)
-				STACK.pop();
+			if (peek().emptyframes == 0)
+				STACK.remove(STACK.size() - 1);
 			else
-				STACK.peek().emptyframes--;
+				peek().emptyframes--;
 		}
 		
-		/** Registers a {@link Variable} in the top {@link Scope} on this {@link ScopeStack}. */
+		/** Registers a {@link Variable} in its slot, or in the top {@link Scope} on this {@link ScopeStack}. */
 		public void register(Variable var) {
-			Scope tos = STACK.peek();
+			int slot = var.getName().getSlot();
+			if (slot >= 0 && top != null) {
+				top.slots[slot] = var;
+				return;
+			}
+			Scope tos = peek();
 			if (tos.emptyframes == 0)
 				tos.scope.put(var.getNameString(), var);
 			else {
 				tos.emptyframes--;
 				tos = new Scope();
-				STACK.push(tos);
+				STACK.add(tos);
 				tos.scope.put(var.getNameString(), var);
 			}
 		}
 		
-		/** Finds a {@link Variable} on this {@link ScopeStack} (top to bottom) */
+		/** Finds a {@link Variable} in its slot, or on this {@link ScopeStack} (top to bottom) */
 		public Variable find(Name n) {
-			for (Scope frame : STACK) {
-				Variable var = frame.scope.get(n.getNameString());
+			int slot = n.getSlot();
+			if (slot >= 0 && top != null && top.slots[slot] != null)
+				return top.slots[slot];
+			for (int i = STACK.size() - 1; i >= 0; i--) {
+				Variable var = STACK.get(i).scope.get(n.getNameString());
 				if (var != null)
 					return var;
 			}
 			throw new PseudocodeException("VarNotFound", "There is no variable called " + n + ".", n.getBlueprintPath());
 		}
 		
+		private Scope peek() {
+			return STACK.get(STACK.size() - 1);
+		}
+		
 		@Override
 		public String toString() {
 			return STACK.toString();
@@ -9,6 +9,7 @@ import building.expressions.abstractions.interfaces.*;
 import building.expressions.normal.brackets.*;
 import building.types.abstractions.*;
 import building.types.specific.*;
+import interpreting.modules.interpreter.*;
 import launching.*;
 
 public final class CloseBlock extends MainExpression implements BlockBracket {
@@ -35,8 +36,8 @@ public final class CloseBlock extends MainExpression implements BlockBracket {
 	}
 	
 	@Override
-	public boolean execute() {
-		return true; // Just go back
+	public int execute() {
+		return Interpreter.END_OF_BLOCK; // Just go back
 	}
 	
 	@Override
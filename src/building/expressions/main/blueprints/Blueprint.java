@@ -9,6 +9,7 @@ import building.expressions.normal.containers.name.*;
 import building.types.abstractions.*;
 import building.types.specific.*;
 import importing.filedata.paths.*;
+import interpreting.modules.interpreter.*;
 import launching.*;
 
 /**
@@ -30,7 +31,7 @@ public abstract class Blueprint extends BlockHolder implements Flaggable, NameHo
 	public BlueprintPath getBlueprintPath() { return new BlueprintPath(Main.PROGRAM.getLine(lineIdentifier).getDataPath(), this); }
 	
 	@Override
-	public boolean execute() {
+	public int enter(BlockFrame frame) {
 		throw new AssertionError("A " + getClass().getSimpleName() + " doesn't support execution.");
 	}
 	
@@ -5,6 +5,7 @@ import static building.types.specific.KeywordType.*;
 import static runtime.datatypes.MaybeValue.*;
 
 import java.util.*;
+import java.util.function.*;
 
 import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
@@ -15,7 +16,9 @@ import building.expressions.normal.containers.name.*;
 import building.types.specific.*;
 import building.types.specific.datatypes.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import interpreting.modules.merger.*;
+import launching.*;
 import misc.util.*;
 import runtime.datatypes.*;
 import runtime.datatypes.array.*;
@@ -33,9 +36,6 @@ public abstract class Definition extends BlockHolder implements Flaggable, NameH
 	/** The expected return type. Null is equivalent to void. */
 	protected final DataType returnType;
 	
-	/** This {@link Value} can be obtained after {@link #execute()}. */
-	protected Value returnVal = null;
-	
 	/** Flags for this {@link Definition}. */
 	protected final Set<FlagType> flags = new HashSet<>();
 	
@@ -46,6 +46,18 @@ public abstract class Definition extends BlockHolder implements Flaggable, NameH
 	 */
 	protected boolean wasCalled = false;
 	
+	/** The amount of local slots in the {@link Frame} of this {@link Definition}. */
+	private int frameSize = 0;
+	
+	/** Counts the calls of this {@link Definition}, until it gets compiled. */
+	private int calls = 0;
+	
+	/** Tells, if the body of this {@link Definition} got compiled to bytecode. */
+	private boolean compiled = false;
+	
+	/** The body as a JVM-class, or null if it was too large and runs in the {@link VirtualMachine}. */
+	private BooleanSupplier jitted;
+	
 	/**
 	 * Creates this {@link Definition}. It gets later registered in the {@link ExpressionMerger}.
 	 *
@@ -64,10 +76,10 @@ public abstract class Definition extends BlockHolder implements Flaggable, NameH
 	
 	/**
 	 * This method gets called by the {@link ReturnStatement}. It checks, if the {@link Value} passes
-	 * the {@link #returnType}.
+	 * the {@link #returnType} and saves it in the {@link Frame} of the running call.
 	 */
 	public final void setValue(Value val) {
-		if (returnVal != null && val != null)
+		if (ScopeManager.STACK.getReturnValue() != null && val != null)
 			throw new AssertionError("Function \"" + name + "\" already has a return value.");
 		if (returnType == null) { // No return-type specified.
 			String suggDataType = (val instanceof ArrayValue av ? av.getRules() : val.dataType).toString();
@@ -87,9 +99,35 @@ public abstract class Definition extends BlockHolder implements Flaggable, NameH
 							+ " but returned the value " + val + "instead.",
 					getBlueprintPath());
 		}
-		returnVal = val;
+		ScopeManager.STACK.setReturnValue(val);
+	}
+	
+	/**
+	 * Runs the body of this {@link Definition}.
+	 *
+	 * The tree-walking {@link Interpreter} handles the body, until it got called as often as
+	 * {@link Main#getJitThreshold()} demands. After that, the body gets compiled once by the
+	 * {@link JitCompiler} into a JVM-class, and every call runs the generated method.
+	 *
+	 * @return false if a {@link ReturnStatement} got triggered.
+	 */
+	protected final boolean runBody() {
+		if (!compiled && Main.getEngine() == Engine.TREE //
+				&& Main.getJitThreshold() > 0 && ++calls >= Main.getJitThreshold()) {
+			jitted = JitCompiler.compile(this);
+			compiled = true;
+		}
+		if (!compiled)
+			return callFirstLine();
+		return jitted != null ? jitted.getAsBoolean() : VirtualMachine.run(firstLine());
 	}
 	
+	/** Returns the amount of slots, that a {@link Frame} for this {@link Definition} needs. */
+	public final int getFrameSize() { return frameSize; }
+	
+	/** Gets called by the {@link SlotResolver}, when the body of this {@link Definition} got merged. */
+	public final void setFrameSize(int frameSize) { this.frameSize = frameSize; }
+	
 	/** Returns the amount of expected parameters. */
 	public abstract int expectedParams();
 	
@@ -120,7 +158,7 @@ public abstract class Definition extends BlockHolder implements Flaggable, NameH
 	}
 	
 	@Override
-	public final boolean execute() {
+	public final int enter(BlockFrame frame) {
 		throw new AssertionError("A func-declaration cannot be executed.");
 	}
 	
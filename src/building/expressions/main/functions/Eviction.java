@@ -0,0 +1,36 @@
+package building.expressions.main.functions;
+
+import launching.*;
+
+/**
+ * The strategies, by which a full {@link MemoCache} drops its entries. Gets selected with the
+ * launch-flag {@code --memo-eviction=...} in {@link Main}.
+ */
+public enum Eviction {
+	
+	/** Drops the least recently used entry. */
+	LRU("lru"),
+	
+	/** Drops the oldest entry, no matter how often it got used. */
+	FIFO("fifo");
+	
+	public final String flag;
+	
+	private Eviction(String flag) {
+		this.flag = flag;
+	}
+	
+	/** Returns the {@link Eviction} for the value of the launch-flag. */
+	public static Eviction fromFlag(String flag) {
+		for (Eviction e : values()) {
+			if (e.flag.equals(flag))
+				return e;
+		}
+		throw new IllegalArgumentException("Unknown eviction: " + flag);
+	}
+	
+	@Override
+	public String toString() {
+		return flag;
+	}
+}
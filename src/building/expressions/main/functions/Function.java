@@ -7,6 +7,7 @@ import java.util.Map.*;
 
 import building.expressions.abstractions.interfaces.*;
 import building.expressions.abstractions.scopes.*;
+import building.expressions.main.statements.*;
 import building.expressions.normal.brackets.*;
 import building.expressions.normal.containers.*;
 import building.expressions.normal.containers.name.*;
@@ -29,6 +30,9 @@ public class Function extends Definition implements NameHolder {
 	/** All expected parameters. */
 	private final LinkedHashMap<Name, DataType> paramBlueprint;
 	
+	/** The cached return-values, if this is {@link FlagType#PURE}. Gets created on the first call. */
+	private MemoCache memo = null;
+	
 	/**
 	 * Defines and registers a {@link Function}.
 	 *
@@ -59,24 +63,60 @@ public class Function extends Definition implements NameHolder {
 		// Check if this was already called.
 		if (hasFlag(FINAL))
 			DefManager.finalize(this);
-		// Init Params
-		int i = 0;
-		for (Entry<Name, DataType> param : paramBlueprint.entrySet()) {
-			Value v = params[i++].getValue();
-			new Variable(lineIdentifier, param.getValue(), param.getKey(), v);
+		// Evaluate the params in the frame of the caller
+		Value[] args = new Value[params.length];
+		for (int i = 0; i < args.length; i++)
+			args[i] = params[i].getValue();
+		// Look up the cached return-value of pure functions
+		if (hasFlag(PURE) && returnType != null) {
+			if (memo == null)
+				memo = new MemoCache(this);
+			Value cached = memo.get(args);
+			if (cached != null)
+				return cached;
+		}
+		Value returnVal;
+		ScopeManager.STACK.pushFrame(getFrameSize());
+		try {
+			// Init Params
+			int i = 0;
+			for (Entry<Name, DataType> param : paramBlueprint.entrySet())
+				new Variable(lineIdentifier, param.getValue(), param.getKey(), args[i++]);
+			runBody();
+			returnVal = ScopeManager.STACK.getReturnValue();
+		} finally {
+			ScopeManager.STACK.popFrame();
 		}
-		callFirstLine();
 		// The return-value is now set.
 		if (returnType != null && returnVal == null) {
 			throw new PseudocodeException("IllegalReturn", //
 					getNameString() + " was defined to return a value of type: " + returnType + ", but returned nothing.", //
 					getBlueprintPath());
 		}
-		Value temp = returnVal;
-		returnVal = null;
-		return temp;
+		if (memo != null)
+			memo.put(args, returnVal);
+		return returnVal;
+	}
+	
+	/**
+	 * Rebinds the parameters for a self-recursive tail call, that reuses the {@link Frame} of the
+	 * running call. All other locals get cleared.
+	 *
+	 * @see ReturnStatement#execute()
+	 */
+	public void rebind(ValueHolder... params) {
+		Value[] args = new Value[params.length];
+		for (int i = 0; i < args.length; i++)
+			args[i] = params[i].getValue();
+		ScopeManager.STACK.resetFrame();
+		int i = 0;
+		for (Entry<Name, DataType> param : paramBlueprint.entrySet())
+			new Variable(lineIdentifier, param.getValue(), param.getKey(), args[i++]);
 	}
 	
+	/** Returns the {@link Name}s of all parameters, in the order of declaration. */
+	public Set<Name> getParamNames() { return paramBlueprint.keySet(); }
+	
 	@Override
 	public int expectedParams() {
 		return paramBlueprint.size();
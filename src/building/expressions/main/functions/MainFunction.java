@@ -25,7 +25,12 @@ public class MainFunction extends Definition {
 	
 	@Override
 	public Value call(ValueHolder... params) {
-		callFirstLine();
+		ScopeManager.STACK.pushFrame(getFrameSize());
+		try {
+			runBody();
+		} finally {
+			ScopeManager.STACK.popFrame();
+		}
 		return null;
 	}
 	
@@ -0,0 +1,111 @@
+package building.expressions.main.functions;
+
+import static misc.supporting.Output.*;
+
+import java.util.*;
+
+import building.types.specific.*;
+import launching.*;
+import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.dict.*;
+
+/**
+ * A bounded cache for the return-values of a {@link FlagType#PURE} {@link Function}, keyed on the
+ * passed arguments.
+ *
+ * Two argument-lists match, if every pair of {@link Value}s has the same {@link Value#dataType} and
+ * passes {@link Value#valueCompare(Value)}. Calls with {@link ArrayValue}s or {@link DictValue}s
+ * as arguments or return-value bypass the cache, as both are mutable.
+ *
+ * The capacity and the {@link Eviction} get set with the launch-flags {@code --memo-capacity=...}
+ * and {@code --memo-eviction=...}.
+ */
+public final class MemoCache {
+	
+	/** Every created {@link MemoCache}, for the statistics. */
+	private static final List<MemoCache> CACHES = new ArrayList<>();
+	
+	/** The {@link Function} whose results get cached. */
+	private final Function owner;
+	
+	private final LinkedHashMap<Key, Value> entries;
+	
+	private int hits = 0;
+	private int misses = 0;
+	
+	/** Creates a {@link MemoCache} with the capacity and eviction from {@link Main}. */
+	MemoCache(Function owner) {
+		this.owner = owner;
+		int capacity = Main.getMemoCapacity();
+		entries = new LinkedHashMap<>(16, 0.75f, Main.getMemoEviction() == Eviction.LRU) {
+			
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+				return size() > capacity;
+			}
+		};
+		CACHES.add(this);
+	}
+	
+	/** Returns the cached return-value for the arguments, or null if there is none. */
+	Value get(Value[] args) {
+		if (isMutable(args))
+			return null;
+		Value res = entries.get(new Key(args));
+		if (res == null)
+			misses++;
+		else
+			hits++;
+		return res;
+	}
+	
+	/** Caches the return-value for the arguments. */
+	void put(Value[] args, Value returnVal) {
+		if (returnVal != null && !isMutable(returnVal) && !isMutable(args))
+			entries.put(new Key(args), returnVal);
+	}
+	
+	private static boolean isMutable(Value[] args) {
+		for (Value v : args) {
+			if (isMutable(v))
+				return true;
+		}
+		return false;
+	}
+	
+	private static boolean isMutable(Value v) {
+		return v instanceof ArrayValue || v instanceof DictValue;
+	}
+	
+	/** Prints the hits and misses of all {@link MemoCache}s in the debug-mode. */
+	public static void printStats() {
+		for (MemoCache c : CACHES)
+			print("Memo " + c.owner + ": " + c.hits + " hits, " + c.misses + " misses, " + c.entries.size() + " entries");
+	}
+	
+	/** A list of arguments, that gets compared by value. */
+	private static record Key(Value[] args) {
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key k) || k.args.length != args.length)
+				return false;
+			for (int i = 0; i < args.length; i++) {
+				if (args[i].dataType != k.args[i].dataType || !args[i].valueCompare(k.args[i]))
+					return false;
+			}
+			return true;
+		}
+		
+		@Override
+		public int hashCode() {
+			int h = 1;
+			for (Value v : args)
+				h = 31 * h + v.valueHash();
+			return h;
+		}
+	}
+}
@@ -58,8 +58,9 @@ public class NativeFunction extends Definition {
 		// Call to System-Functions
 		if (params.length != expectedParams())
 			throw new PseudocodeException("IllegalCall", "Illegal amount of params. Expected " + expectedParams(), getBlueprintPath());
+		Value returnVal;
 		try {
-			returnVal = callSystemFunc(getSystemFunction(getName()), params);
+			returnVal = callSystemFunc(getSystemFunction(getName()), getBlueprintPath(), params);
 			// The return-value is now set.
 			if (returnVal != null && returnType != null)
 				returnVal = returnVal.as(returnType);
@@ -79,8 +80,6 @@ public class NativeFunction extends Definition {
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
 		}
-		Value temp = returnVal;
-		returnVal = null;
-		return temp;
+		return returnVal;
 	}
 }
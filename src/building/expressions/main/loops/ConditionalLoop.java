@@ -9,8 +9,8 @@ import building.expressions.normal.brackets.*;
 import building.expressions.normal.containers.name.*;
 import building.types.specific.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import interpreting.program.*;
-import runtime.datatypes.numerical.*;
 
 /**
  * While/Until Loop.
@@ -38,6 +38,9 @@ public final class ConditionalLoop extends Loop {
 		this.condition = condition;
 	}
 	
+	/** Returns the condition, that gets tested before every iteration. */
+	public ValueHolder getCondition() { return condition; }
+	
 	/**
 	 * Returns true when:
 	 *
@@ -48,7 +51,7 @@ public final class ConditionalLoop extends Loop {
 	 * </pre>
 	 */
 	@Override
-	protected boolean doContinue(NumberValue iteration) {
+	protected boolean doContinue(BlockFrame frame) {
 		try {
 			return condition.asBool().value == is(WHILE);
 		} catch (NonExpressionException e) {
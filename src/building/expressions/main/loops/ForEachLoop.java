@@ -7,6 +7,7 @@ import building.expressions.normal.containers.*;
 import building.expressions.normal.containers.name.*;
 import building.types.specific.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import misc.constants.*;
 import misc.helper.*;
 import runtime.datatypes.array.*;
@@ -17,9 +18,6 @@ public class ForEachLoop extends Loop {
 	/** The {@link ValueHolder} that gets called at the start of every new iteration. */
 	private final ValueHolder arrayHolder;
 	
-	/** The temporary value that gets reset for every iteration. */
-	private ArrayValue array;
-	
 	/** The name for the running element. */
 	private Name elemName;
 	
@@ -39,11 +37,14 @@ public class ForEachLoop extends Loop {
 		this.arrayHolder = arrayH;
 	}
 	
+	/** Returns the {@link Name} of the running element. */
+	public Name getElemName() { return elemName; }
+	
 	@Override
-	protected void initLoop() {
-		super.initLoop();
+	protected void initLoop(BlockFrame frame) {
+		super.initLoop(frame);
 		try {
-			array = (ArrayValue) arrayHolder.as(TypeConstants.VAR_ARR);
+			frame.array = arrayHolder.asVarArray();
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
 		}
@@ -51,8 +52,10 @@ public class ForEachLoop extends Loop {
 	
 	@Override
 	@SuppressWarnings("unlikely-arg-type")
-	protected boolean doContinue(NumberValue iteration) {
+	protected boolean doContinue(BlockFrame frame) {
 		try {
+			ArrayValue array = frame.array;
+			NumberValue iteration = frame.iteration;
 			if (iteration.equals(array.length()))
 				return false;
 			new Variable(lineIdentifier, TypeConstants.VAR, elemName, array.get(MathHelper.valToInt(iteration)));
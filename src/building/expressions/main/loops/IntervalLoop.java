@@ -9,6 +9,7 @@ import building.expressions.normal.brackets.*;
 import building.expressions.normal.containers.name.*;
 import building.types.specific.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import runtime.datatypes.numerical.*;
 
 /**
@@ -21,9 +22,6 @@ public class IntervalLoop extends Loop {
 	/** Should get initialised at merge. */
 	private final ValueHolder endHolder;
 	
-	/** Should get initialised at {@link #initLoop()}. */
-	private NumberValue end;
-	
 	public IntervalLoop(int lineID, KeywordType loopType, ValueHolder startH, ValueHolder endH, ValueHolder incH, Name alias,
 			OpenBlock os) {
 		super(lineID, loopType, alias, os);
@@ -34,28 +32,31 @@ public class IntervalLoop extends Loop {
 	}
 	
 	@Override
-	protected void initLoop() {
+	protected void initLoop(BlockFrame frame) {
 		try {
-			start = startHolder.asNr();
-			end = endHolder.asNr();
+			NumberValue start = startHolder.asNr();
+			NumberValue end = endHolder.asNr();
 			if (is(REPEAT) && end != POS_INF) {
 				end = end.sub(ONE).asInt();
 				if (end.isNegative())
 					throw new PseudocodeException("ShouldBeNaturalNr", "Repeat-start cannot be negative.", getBlueprintPath());
 			}
 			if (start.isSmallerEq(end))
-				inc = incHolder.asNr().abs();
+				frame.inc = incHolder.asNr().abs();
 			else
-				inc = incHolder.asNr().abs().negate();
+				frame.inc = incHolder.asNr().abs().negate();
+			frame.start = start;
+			frame.end = end;
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
 		}
 	}
 	
 	@Override
-	protected boolean doContinue(NumberValue iteration) {
+	protected boolean doContinue(BlockFrame frame) {
 		try {
-			return start.isSmallerEq(end) ? iteration.isSmallerEq(end) : iteration.isGreaterEq(end);
+			NumberValue end = frame.end;
+			return frame.start.isSmallerEq(end) ? frame.iteration.isSmallerEq(end) : frame.iteration.isGreaterEq(end);
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
 		}
@@ -14,6 +14,7 @@ import building.types.abstractions.*;
 import building.types.specific.*;
 import building.types.specific.datatypes.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import runtime.datatypes.numerical.*;
 
 /**
@@ -32,10 +33,6 @@ public abstract class Loop extends BlockHolder implements ScopeHolder {
 	protected ValueHolder incHolder = ONE;
 	private final Name alias;
 	
-	// These should get initialised at init
-	protected NumberValue start;
-	protected NumberValue inc;
-	
 	/**
 	 * Constructor for an abstract {@link Loop}.
 	 *
@@ -50,24 +47,51 @@ public abstract class Loop extends BlockHolder implements ScopeHolder {
 	}
 	
 	/**
-	 * Executes this loop as long as its run-condition is satisfied.
+	 * Starts this loop and enters its first iteration, if its run-condition is satisfied.
 	 *
-	 * This method calls {@link Loop#doContinue()} for every iteration.
+	 * The counter of the iteration gets saved in the passed {@link BlockFrame}.
 	 */
 	@Override
-	public final boolean execute() {
-		initLoop();
-		if (start == null || inc == null)
+	public final int enter(BlockFrame frame) {
+		begin(frame);
+		return iterate(frame);
+	}
+	
+	/** Increments the counter after every iteration and repeats the block, if the loop continues. */
+	@Override
+	public final int leave(BlockFrame frame) {
+		step(frame);
+		return iterate(frame);
+	}
+	
+	/**
+	 * Enters the next iteration, or skips to the end of the loop.
+	 *
+	 * This method calls {@link Loop#doContinue()} for every iteration.
+	 */
+	private int iterate(BlockFrame frame) {
+		if (!doContinue(frame))
+			return nextLine();
+		count(frame);
+		return firstLine();
+	}
+	
+	/** Initialises the bounds and sets the counter to the start. */
+	public final void begin(BlockFrame frame) {
+		initLoop(frame);
+		if (frame.start == null || frame.inc == null)
 			throw new AssertionError("Start and end have to be initialised. See: initLoop()");
-		NumberValue i = start;
-		Name cntName = getLoopVarAlias();
-		while (doContinue(i)) {
-			initCounter(i, cntName);
-			if (!callFirstLine())
-				return false;
-			i = i.add(inc);
-		}
-		return callNextLine();
+		frame.iteration = frame.start;
+	}
+	
+	/** Increments the counter. */
+	public final void step(BlockFrame frame) {
+		frame.iteration = frame.iteration.add(frame.inc);
+	}
+	
+	/** Sets the counter of an entered iteration. */
+	public final void count(BlockFrame frame) {
+		initCounter(frame.iteration, getLoopVarAlias());
 	}
 	
 	/**
@@ -81,25 +105,29 @@ public abstract class Loop extends BlockHolder implements ScopeHolder {
 	}
 	
 	/**
-	 * Only gets called by {@link Loop#execute()} before a loop gets executed.
+	 * Only gets called by {@link Loop#enter} before a loop gets executed.
 	 *
-	 * Set {@link #start} and {@link #inc} here.
+	 * Set {@link BlockFrame#start} and {@link BlockFrame#inc} here. They live in the frame, so that a
+	 * recursive call into the same loop keeps its own bounds.
 	 */
-	protected void initLoop() {
+	protected void initLoop(BlockFrame frame) {
 		try {
-			start = startHolder.asNr();
-			inc = incHolder.asNr();
+			frame.start = startHolder.asNr();
+			frame.inc = incHolder.asNr();
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
 		}
 	}
 	
 	/**
-	 * Only gets called by {@link Loop#execute()}.
+	 * Only gets called by {@link Loop#enter} and {@link Loop#leave}.
 	 *
-	 * @param iteration is the current iteration, starting at {@link DecimalValue#ZERO}.
+	 * @param frame holds the current iteration, starting at {@link DecimalValue#ZERO}.
 	 */
-	protected abstract boolean doContinue(NumberValue iteration);
+	protected abstract boolean doContinue(BlockFrame frame);
+	
+	/** Returns the explicit name of the loop-counter, or null if there is none. */
+	public final Name getAlias() { return alias; }
 	
 	/**
 	 * Returns the name for the loop-counter.
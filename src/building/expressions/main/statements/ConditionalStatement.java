@@ -59,27 +59,49 @@ public final class ConditionalStatement extends BlockHolder implements ScopeHold
 	}
 	
 	@Override
-	public boolean execute() {
+	public int enter(BlockFrame frame) {
 		try {
 			if (is(IF) || is(ELIF)) {
 				if (condition.asBool().value) // Execute after condition is true.
-					return callFirstLine() ? Interpreter.execute(findAnyCase()) : false;
-				// Find any or end if successfull.
-				return Interpreter.execute(findElseCase()); // Find next else if not successfull.
+					return firstLine();
+				return findElseCase(); // Find next else if not successfull.
 			} else if (is(ANY) && condition != null) {
 				// If any-if condition is true
-				if (condition.asBool().value) {
-					if (!callFirstLine()) // ... and return got triggered
-						return false; // Return
-				}
-				return Interpreter.execute(endOfConstruct()); // End, if condition was false or statement is done.
+				if (condition.asBool().value)
+					return firstLine();
+				return endOfConstruct(); // End, if condition was false.
 			} else // Execute without condition. ANY / ELSE
-				return callFirstLine() ? Interpreter.execute(endOfConstruct()) : false; // Jump to end after execution
+				return firstLine();
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
 		}
 	}
 	
+	@Override
+	public int leave(BlockFrame frame) {
+		return afterBlock();
+	}
+	
+	/** Returns the condition, or null for an else- or any-statement without one. */
+	public ValueHolder getCondition() { return condition; }
+	
+	/** Returns the lineID that follows, if the {@link #condition} is false. */
+	public int falseCase() {
+		return is(ANY) ? endOfConstruct() : findElseCase();
+	}
+	
+	/**
+	 * Returns the lineID that follows on the execution of this block. This doesn't depend on the
+	 * state at runtime.
+	 *
+	 * Find any or end if successfull, jump to the end after an any or else.
+	 */
+	public int afterBlock() {
+		if (is(IF) || is(ELIF))
+			return findAnyCase();
+		return endOfConstruct();
+	}
+	
 	/**
 	 * Returns the lineID of the next elif- or else-Statement, or the end of the construct, if none
 	 * exist.
@@ -8,6 +8,7 @@ import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
 import building.expressions.normal.brackets.*;
 import building.types.specific.*;
+import interpreting.modules.interpreter.*;
 
 public class FlagSpace extends BlockHolder implements Flaggable {
 	
@@ -38,8 +39,7 @@ public class FlagSpace extends BlockHolder implements Flaggable {
 	}
 	
 	@Override
-	public boolean execute() {
-		callFirstLine();
-		return callNextLine();
+	public int enter(BlockFrame frame) {
+		return firstLine();
 	}
 }
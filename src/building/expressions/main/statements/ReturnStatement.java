@@ -4,15 +4,21 @@ import static building.types.specific.KeywordType.*;
 
 import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
+import building.expressions.abstractions.scopes.*;
 import building.expressions.main.functions.*;
+import building.expressions.possible.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import runtime.datatypes.*;
 
-public class ReturnStatement extends MainExpression {
+public class ReturnStatement extends MainExpression implements Lowerable {
 	
 	private Definition myFunc = null;
 	private final ValueHolder val;
 	
+	/** The returned {@link Call}, if it is a self-recursive tail call. Null otherwise. */
+	private Call tailCall = null;
+	
 	/**
 	 * Creates a {@link ReturnStatement}.
 	 *
@@ -23,22 +29,51 @@ public class ReturnStatement extends MainExpression {
 		this.val = val;
 	}
 	
-	/** Set the return-value of the function, and well... return. */
+	/**
+	 * Set the return-value of the function, and well... return.
+	 *
+	 * A self-recursive tail call doesn't call the {@link Function} again. It rebinds the parameters
+	 * in the current {@link Frame} and lets the {@link Interpreter} jump back to the first line.
+	 */
 	@Override
-	public boolean execute() {
-		if (val != null) {
-			Value r = val.getValue();
-			myFunc.setValue(r);
+	public int execute() {
+		if (tailCall != null) {
+			((Function) myFunc).rebind(tailCall.getParameters());
+			return Interpreter.TAIL_CALL;
 		}
-		return false;
+		if (val != null)
+			returnValue(val.getValue());
+		return Interpreter.RETURN;
+	}
+	
+	/** Passes the already evaluated return-value to the {@link Definition}. */
+	public void returnValue(Value r) {
+		myFunc.setValue(r);
+	}
+	
+	/** Lowers the returned value, or the params of a self-recursive tail call. */
+	@Override
+	public void lower(Assembler asm) {
+		if (tailCall != null) {
+			for (ValueHolder p : tailCall.getParameters())
+				asm.value(p);
+			asm.tailCall((Function) myFunc, tailCall.getParameters().length);
+		} else if (val != null) {
+			asm.value(val);
+			asm.ret(this, true);
+		} else
+			asm.ret(this, false);
 	}
 	
 	/** Connect this {@link ReturnStatement} to a {@link Function}. */
 	public void initFunc(Definition def) {
 		if (myFunc != null)
 			throw new AssertionError("The function was already initialised.");
-		if (def instanceof Function)
+		if (def instanceof Function) {
 			myFunc = def;
+			if (val instanceof Call c && c.isCallTo(def))
+				tailCall = c;
+		}
 		else if (val != null) {
 			throw new PseudocodeException("InvalidReturn",
 					"Only return-statements that don't return values can be used in \"" + def + "\".", getBlueprintPath());
@@ -4,12 +4,13 @@ import static building.types.abstractions.SpecificType.*;
 
 import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
+import interpreting.modules.interpreter.*;
 import runtime.datatypes.*;
 
 /**
  * Wrapper {@link ValueHolder}.
  */
-public class BracketedExpression extends Expression implements ValueHolder {
+public class BracketedExpression extends Expression implements Foldable, Lowerable {
 	
 	private final ValueHolder value;
 	
@@ -20,4 +21,17 @@ public class BracketedExpression extends Expression implements ValueHolder {
 	
 	@Override
 	public Value getValue() { return value.getValue(); }
+	
+	@Override
+	public boolean isConstant() { return Foldable.isConstant(value); }
+	
+	@Override
+	public void fold() {
+		Foldable.fold(value);
+	}
+	
+	@Override
+	public void lower(Assembler asm) {
+		asm.value(value);
+	}
 }
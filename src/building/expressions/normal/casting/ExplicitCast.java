@@ -6,14 +6,18 @@ import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
 import building.types.specific.datatypes.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
+import interpreting.modules.merger.*;
 import runtime.datatypes.*;
 
 /** Changes the type of a value by calling {@link Value#as(DataType)}. */
-public class ExplicitCast extends Expression implements ValueHolder {
+public class ExplicitCast extends Expression implements Foldable, Lowerable {
 	
 	private final DataType targetType;
 	private final ValueHolder target;
 	
+	private Value folded = null;
+	
 	/**
 	 * Creates an {@link ExplicitCast}.
 	 *
@@ -35,11 +39,41 @@ public class ExplicitCast extends Expression implements ValueHolder {
 	 */
 	@Override
 	public Value getValue() {
+		if (folded != null)
+			return folded;
+		return cast(target);
+	}
+	
+	/** Casts the {@link #target}, or its already evaluated {@link Value}, to the {@link #targetType}. */
+	public Value cast(Castable c) {
 		try {
-			return target.as(targetType);
+			return c.as(targetType);
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
 		}
 	}
 	
+	/** A {@link MaybeValue} casts null differently than its {@link Value}, so it stays unlowered. */
+	@Override
+	public void lower(Assembler asm) {
+		if (folded != null)
+			asm.constant(folded);
+		else if (target instanceof MaybeValue)
+			asm.eval(this);
+		else {
+			asm.value(target);
+			asm.cast(this);
+		}
+	}
+	
+	/** Only casts to non-array types get folded, as arrays are mutable. */
+	@Override
+	public boolean isConstant() { return !targetType.isArrayType() && Foldable.isConstant(target); }
+	
+	@Override
+	public void fold() {
+		Foldable.fold(target);
+		if (folded == null && isConstant())
+			folded = ConstantFolder.evaluate(this);
+	}
 }
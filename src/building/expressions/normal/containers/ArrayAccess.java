@@ -12,49 +12,134 @@ import building.expressions.abstractions.scopes.*;
 import building.expressions.normal.containers.name.*;
 import building.expressions.possible.multicall.*;
 import errorhandeling.*;
-import misc.constants.*;
+import interpreting.modules.interpreter.*;
 import misc.helper.*;
 import runtime.datatypes.*;
 import runtime.datatypes.array.*;
+import runtime.datatypes.dict.*;
 
-/** Access at a specific index for example a[19] */
-public class ArrayAccess extends Expression implements MultiCallableValueChanger {
+/**
+ * Access at a specific index for example a[19], or a slice like a[2..10]. The index of a dict is a
+ * key, like d["one"].
+ */
+public class ArrayAccess extends Expression implements MultiCallableValueChanger, Lowerable {
 	
 	private final List<ValueHolder> indices;
 	private final Name name;
 	
-	public ArrayAccess(int lineID, Name name, List<ValueHolder> indices) {
+	/** The {@link #indices} as an array, so that no access has to copy them. */
+	private final ValueHolder[] idxArray;
+	
+	/** The {@link Slice} after the {@link #indices}, or null if there is none. */
+	private final Slice slice;
+	
+	public ArrayAccess(int lineID, Name name, List<ValueHolder> indices, Slice slice) {
 		super(lineID, MERGED);
 		this.name = name;
 		this.indices = indices;
+		this.slice = slice;
 		assert name != null && indices != null : "Name and indices cannot be null.";
-		if (indices.isEmpty())
+		this.idxArray = indices.toArray(new ValueHolder[indices.size()]);
+		if (indices.isEmpty() && slice == null)
 			throw new PseudocodeException("MissingIndex", "An array-access has to hold atleast one index.", getBlueprintPath());
 	}
 	
 	@Override
 	public Value getValue() {
-		if (indices.size() == 1 && indices.get(0) instanceof MultiCall mc)
+		if (slice == null && indices.size() == 1 && indices.get(0) instanceof MultiCall mc)
 			return executeFor(mc.content);
 		try {
+			if (slice != null)
+				return getSlice();
 			return getValue(indices);
-		} catch (ArrayIndexOutOfBoundsException iobe) {
-			throw new PseudocodeException("ArrayAccess",
-					"Index " + indices.stream().map(e -> e.getValue().toString()).collect(Collectors.joining(", ")) + " is out of bounds.",
-					getBlueprintPath());
+		} catch (IndexOutOfBoundsException iobe) {
+			if (slice != null)
+				throw new PseudocodeException("ArrayAccess", "Slice " + slice + " is out of bounds.", getBlueprintPath());
+			throw outOfBounds(indices);
 		} catch (NullPointerException npe) {
 			throw new AssertionError("Array " + name + " is unitialised.");
 		}
 	}
 	
+	/** Reads the element at already evaluated indices. There is no {@link #slice}. */
+	public Value getAt(Value[] idxs) {
+		List<ValueHolder> idxList = Arrays.<ValueHolder>asList(idxs);
+		try {
+			return getValue(idxList);
+		} catch (IndexOutOfBoundsException iobe) {
+			throw outOfBounds(idxList);
+		} catch (NullPointerException npe) {
+			throw new AssertionError("Array " + name + " is unitialised.");
+		}
+	}
+	
+	/** Returns the exception for indices, that lie outside of the array. */
+	private PseudocodeException outOfBounds(List<ValueHolder> idxs) {
+		return new PseudocodeException("ArrayAccess",
+				"Index " + idxs.stream().map(e -> e.getValue().toString()).collect(Collectors.joining(", ")) + " is out of bounds.",
+				getBlueprintPath());
+	}
+	
+	/** Lowers the indices of a read. Slices and multi-calls get evaluated by the tree walker. */
+	@Override
+	public void lower(Assembler asm) {
+		if (slice != null || idxArray.length == 1 && idxArray[0] instanceof MultiCall) {
+			asm.eval(this);
+			return;
+		}
+		for (ValueHolder idx : idxArray)
+			asm.value(idx);
+		asm.access(this, idxArray.length);
+	}
+	
 	private Value getValue(List<ValueHolder> idxs) {
 		try {
-			Value v = name.as(TypeConstants.VAR_ARR);
-			for (ValueHolder index : idxs)
-				v = ((ArrayValue) v).get(MathHelper.valToInt(index));
-			return v;
+			Value target = name.getValue();
+			if (target instanceof DictValue)
+				return walk(target, idxs);
+			if (idxs.size() == 1)
+				return target.asVarArray().get(MathHelper.valToInt(idxs.get(0)));
+			int[] intIdxs = new int[idxs.size()];
+			for (int i = 0; i < intIdxs.length; i++)
+				intIdxs[i] = MathHelper.valToInt(idxs.get(i));
+			return target.asVarArray().get(intIdxs);
+		} catch (NonExpressionException e) {
+			throw new PseudocodeException(e, getBlueprintPath());
+		}
+	}
+	
+	/** Indexes the {@link Value} one dimension at a time, so that dicts and arrays can be nested. */
+	private Value walk(Value v, List<ValueHolder> idxs) throws NonExpressionException {
+		for (ValueHolder idx : idxs) {
+			if (v instanceof DictValue d)
+				v = lookup(d, idx.getValue());
+			else
+				v = v.asVarArray().get(MathHelper.valToInt(idx));
+		}
+		return v;
+	}
+	
+	/** Returns the value for the key. */
+	private Value lookup(DictValue dict, Value key) {
+		Value res = dict.get(key);
+		if (res == null)
+			throw new PseudocodeException("KeyNotFound", "The dict \"" + name.getNameString() + "\" has no key " + key + ".",
+					getBlueprintPath());
+		return res;
+	}
+	
+	/** Returns the {@link Slice} of the array at the {@link #indices}. */
+	private ArrayValue getSlice() {
+		try {
+			ArrayValue arr = name.asVarArray();
+			if (!indices.isEmpty())
+				arr = (ArrayValue) getValue(indices);
+			return slice.of(arr);
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
+		} catch (ClassCastException e) {
+			throw new PseudocodeException("InvalidDepth",
+					"The specified Array \"" + name.getName() + "\" doesn't contain another array at index " + indices, getBlueprintPath());
 		}
 	}
 	
@@ -72,23 +157,68 @@ public class ArrayAccess extends Expression implements MultiCallableValueChanger
 		if (var.hasFlag(CONSTANT))
 			throw new PseudocodeException("ConstantModification",
 					"The Array \"" + name.getNameString() + "\" is defined as constant and cannot be changed.", getBlueprintPath());
+		if (slice != null)
+			throw new PseudocodeException("SliceAssignment", "The slice " + slice + " of \"" + name.getNameString()
+					+ "\" cannot be assigned to.", getBlueprintPath());
 		if (indices.size() == 1 && indices.get(0) instanceof MultiCall mc)
 			return writeFor(val, mc.content);
 		try {
-			return ((ArrayValue) var.getValue()).set(val, var.getNameString(), getBlueprintPath(),
-					indices.toArray(new ValueHolder[indices.size()]));
+			if (var.getValue() instanceof DictValue d)
+				return setIn(d, val);
+			ArrayValue arr = (ArrayValue) var.getValue();
+			if (idxArray.length == 1)
+				return arr.set(val, var.getNameString(), getBlueprintPath(), toIndex(idxArray[0]));
+			return arr.set(val, var.getNameString(), getBlueprintPath(), idxArray);
 		} catch (ClassCastException e) {
 			throw new PseudocodeException("InvalidDepth",
 					"The specified Array \"" + name.getName() + "\" doesn't contain another array at index " + indices, getBlueprintPath());
 		}
 	}
 	
+	/**
+	 * Stores the value at the last of the {@link #indices} in the dict, or in the array or dict, that
+	 * the other {@link #indices} lead to.
+	 *
+	 * @return the previous value, or {@link MaybeValue#NULL} if a dict had none.
+	 */
+	private Value setIn(DictValue dict, Value val) {
+		try {
+			Value container = walk(dict, indices.subList(0, indices.size() - 1));
+			ValueHolder last = idxArray[idxArray.length - 1];
+			if (container instanceof DictValue d) {
+				Value prev = d.put(last.getValue(), val);
+				return prev == null ? MaybeValue.NULL : prev;
+			}
+			return ((ArrayValue) container).set(val, name.getNameString(), getBlueprintPath(), toIndex(last));
+		} catch (NonExpressionException e) {
+			throw new PseudocodeException(e, getBlueprintPath());
+		}
+	}
+	
+	/** Evaluates a single index. */
+	private int toIndex(ValueHolder index) {
+		try {
+			return MathHelper.valToInt(index);
+		} catch (NonExpressionException | ArithmeticException e) {
+			throw new PseudocodeException(e, getBlueprintPath());
+		}
+	}
+	
 	@Override
 	public ArrayValue writeFor(Value val, ValueHolder[] content) {
 		Variable var = ScopeManager.getVar(name);
 		Value[] previous = new Value[content.length];
-		for (int i = 0; i < content.length; i++)
-			previous[i] = ((ArrayValue) var.getValue()).set(val, var.getNameString(), getBlueprintPath(), content[i]);
+		for (int i = 0; i < content.length; i++) {
+			if (var.getValue() instanceof DictValue d) {
+				try {
+					Value prev = d.put(content[i].getValue(), val);
+					previous[i] = prev == null ? MaybeValue.NULL : prev;
+				} catch (NonExpressionException e) {
+					throw new PseudocodeException(e, getBlueprintPath());
+				}
+			} else
+				previous[i] = ((ArrayValue) var.getValue()).set(val, var.getNameString(), getBlueprintPath(), content[i]);
+		}
 		return ArrayValue.newInstance(previous);
 	}
 	
@@ -0,0 +1,53 @@
+package building.expressions.normal.containers;
+
+import static building.types.abstractions.SpecificType.*;
+
+import building.expressions.abstractions.*;
+import building.expressions.abstractions.interfaces.*;
+import errorhandeling.*;
+import runtime.datatypes.*;
+import runtime.datatypes.dict.*;
+
+/**
+ * A literal like [1 -> "one", 2 -> "two"], that creates a new {@link DictValue} for every
+ * {@link #getValue()}, as a dict is mutable.
+ */
+public class DictLiteral extends Expression implements ValueHolder {
+	
+	private final ValueHolder[] keys;
+	private final ValueHolder[] vals;
+	
+	/**
+	 * Creates a {@link DictLiteral}.
+	 *
+	 * @param keys and vals have to be of the same length.
+	 */
+	public DictLiteral(int lineID, ValueHolder[] keys, ValueHolder[] vals) {
+		super(lineID, MERGED);
+		assert keys.length == vals.length && keys.length > 0 : "A dict-literal needs atleast one key with a value.";
+		this.keys = keys;
+		this.vals = vals;
+	}
+	
+	@Override
+	public Value getValue() {
+		Value[] k = new Value[keys.length], v = new Value[vals.length];
+		for (int i = 0; i < keys.length; i++) {
+			k[i] = keys[i].getValue();
+			v[i] = vals[i].getValue();
+		}
+		try {
+			return DictValue.of(k, v);
+		} catch (NonExpressionException e) {
+			throw new PseudocodeException(e, getBlueprintPath());
+		}
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder b = new StringBuilder("[");
+		for (int i = 0; i < keys.length; i++)
+			b.append(i == 0 ? "" : ", ").append(keys[i]).append(" -> ").append(vals[i]);
+		return b.append(']').toString();
+	}
+}
@@ -5,17 +5,23 @@ import java.util.*;
 import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
 import building.types.specific.*;
+import interpreting.modules.interpreter.*;
+import interpreting.modules.merger.*;
 import runtime.datatypes.*;
 import runtime.datatypes.array.*;
+import runtime.datatypes.dict.*;
 
 /**
  * Container for any {@link Value} and any uninitialised {@link ArrayValue}.
  */
-public class Literal extends Expression implements ValueHolder {
+public class Literal extends Expression implements Foldable, Lowerable {
 	
 	private final Value val;
 	private final ValueHolder[] arrayPreInit;
 	
+	/** The pre-evaluated content of a constant array. */
+	private Value[] folded = null;
+	
 	/**
 	 * Constructs a wrapping {@link Literal} around a {@link Value}.
 	 *
@@ -45,11 +51,50 @@ public class Literal extends Expression implements ValueHolder {
 	public Value getValue() {
 		if (val != null)
 			return val;
+		if (folded != null)
+			return ArrayValue.newInstance(folded.clone());
 		if (arrayPreInit != null)
 			return ArrayValue.newInstance(Arrays.stream(arrayPreInit).map(e -> e.getValue()).toArray(Value[]::new));
 		throw new AssertionError("This literal must be either an array or not. Is: " + this);
 	}
 	
+	/**
+	 * A single {@link Value} is always constant. An array is constant, if none of its elements is an
+	 * array itself, as the content gets copied for every {@link #getValue()}.
+	 */
+	@Override
+	public boolean isConstant() {
+		if (val != null)
+			return !(val instanceof ArrayValue) && !(val instanceof DictValue);
+		for (ValueHolder e : arrayPreInit) {
+			if (e instanceof Literal l && l.arrayPreInit != null || !Foldable.isConstant(e))
+				return false;
+		}
+		return true;
+	}
+	
+	@Override
+	public void fold() {
+		if (arrayPreInit == null)
+			return;
+		for (ValueHolder e : arrayPreInit)
+			Foldable.fold(e);
+		if (folded == null && isConstant()) {
+			ArrayValue arr = (ArrayValue) ConstantFolder.evaluate(this);
+			if (arr != null)
+				folded = arr.raw();
+		}
+	}
+	
+	/** A single {@link Value} is a constant. An array gets built by the tree walker. */
+	@Override
+	public void lower(Assembler asm) {
+		if (val != null)
+			asm.constant(val);
+		else
+			asm.eval(this);
+	}
+	
 	@Override
 	public String toString() {
 		return val != null ? val.toString() : Arrays.toString(arrayPreInit);
@@ -0,0 +1,67 @@
+package building.expressions.normal.containers;
+
+import static building.types.abstractions.SpecificType.*;
+
+import building.expressions.abstractions.*;
+import building.expressions.abstractions.interfaces.*;
+import errorhandeling.*;
+import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.numerical.*;
+
+/**
+ * A range of ints like 1..10 or 10..1 step -1. Both bounds are inclusive.
+ *
+ * It evaluates to an {@link ArrayValue}, that computes its elements when they are read, so that
+ * for-each-loops and the in-operator never build the whole array.
+ */
+public class RangeExpression extends Expression implements ValueHolder {
+	
+	private final ValueHolder from;
+	private final ValueHolder to;
+	
+	/** The step between two elements, or null for 1. */
+	private final ValueHolder step;
+	
+	public RangeExpression(int lineID, ValueHolder from, ValueHolder to, ValueHolder step) {
+		super(lineID, MERGED);
+		assert from != null && to != null : "A range has to have two bounds.";
+		this.from = from;
+		this.to = to;
+		this.step = step;
+	}
+	
+	@Override
+	public Value getValue() {
+		try {
+			return ArrayValue.range(toLong(from), toLong(to), step == null ? 1 : toLong(step));
+		} catch (NonExpressionException e) {
+			throw new PseudocodeException(e, getBlueprintPath());
+		}
+	}
+	
+	/** Evaluates a bound or the step. */
+	private static long toLong(ValueHolder val) throws NonExpressionException {
+		IntValue i = val.asInt();
+		if (!i.fitsLong())
+			throw new NonExpressionException("Range", "The bounds and the step of a range have to lie between "
+					+ Long.MIN_VALUE + " and " + Long.MAX_VALUE + ", but got " + i + ".");
+		return i.longValue();
+	}
+	
+	/**
+	 * Returns this as the {@link Slice} at the end of an {@link ArrayAccess}, like a[2..10].
+	 *
+	 * @throws PseudocodeException if this has a step.
+	 */
+	public Slice toSlice() {
+		if (step != null)
+			throw new PseudocodeException("Slice", "A slice cannot have a step: " + this, getBlueprintPath());
+		return new Slice(from, to);
+	}
+	
+	@Override
+	public String toString() {
+		return from + ".." + to + (step == null ? "" : " step " + step);
+	}
+}
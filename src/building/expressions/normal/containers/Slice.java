@@ -0,0 +1,40 @@
+package building.expressions.normal.containers;
+
+import building.expressions.abstractions.interfaces.*;
+import errorhandeling.*;
+import misc.helper.*;
+import runtime.datatypes.array.*;
+
+/**
+ * The bounds of a slice at the end of an {@link ArrayAccess}, like a[2..10], a[2..] or a[..10].
+ * Both bounds are inclusive. A missing bound stands for the start or end of the array.
+ */
+public final class Slice {
+	
+	/** The first index, or null for the start. */
+	private final ValueHolder from;
+	
+	/** The last index, or null for the end. */
+	private final ValueHolder to;
+	
+	public Slice(ValueHolder from, ValueHolder to) {
+		this.from = from;
+		this.to = to;
+	}
+	
+	/**
+	 * Returns the slice of the {@link ArrayValue}, that shares its elements.
+	 *
+	 * @throws NonExpressionException if a bound isn't an int.
+	 */
+	public ArrayValue of(ArrayValue a) throws NonExpressionException {
+		int start = from == null ? 0 : MathHelper.valToInt(from);
+		int end = to == null ? a.length() : MathHelper.valToInt(to) + 1;
+		return a.slice(start, end);
+	}
+	
+	@Override
+	public String toString() {
+		return (from == null ? "" : from.toString()) + ".." + (to == null ? "" : to.toString());
+	}
+}
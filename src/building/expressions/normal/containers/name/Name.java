@@ -5,11 +5,14 @@ import static misc.util.Regex.*;
 
 import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
+import building.expressions.abstractions.scopes.*;
+import building.expressions.main.functions.*;
 import building.types.abstractions.*;
 import building.types.specific.*;
 import building.types.specific.datatypes.*;
 import building.types.specific.operators.*;
 import errorhandeling.*;
+import interpreting.modules.merger.*;
 import launching.*;
 
 /**
@@ -20,6 +23,12 @@ public sealed abstract class Name extends Expression implements ValueChanger per
 	
 	private final String name;
 	
+	/**
+	 * The index of this {@link Name} in the {@link Frame} of its {@link Definition}. -1 if this isn't
+	 * a resolved local.
+	 */
+	private int slot = -1;
+	
 	/** Creates a {@link Name} from a {@link String}. */
 	Name(int lineID, String name) {
 		super(lineID, NAME);
@@ -72,6 +81,12 @@ public sealed abstract class Name extends Expression implements ValueChanger per
 	@Override
 	public final Name getName() { return this; }
 	
+	/** Returns the slot of this local in its {@link Frame}, or -1 if it isn't resolved. */
+	public final int getSlot() { return slot; }
+	
+	/** Gets called by the {@link SlotResolver} at merge time. */
+	public final void setSlot(int slot) { this.slot = slot; }
+	
 	@Override
 	public boolean equals(Object obj) {
 		return obj instanceof Name n ? name.equals(n.name) : false;
@@ -1,8 +1,11 @@
 package building.expressions.normal.containers.name;
 
+import building.expressions.abstractions.interfaces.*;
+import building.expressions.abstractions.scopes.*;
+import interpreting.modules.interpreter.*;
 import runtime.datatypes.*;
 
-public final class VarName extends Name {
+public final class VarName extends Name implements Lowerable {
 	
 	VarName(int lineID, String name) {
 		super(lineID, name);
@@ -11,14 +14,19 @@ public final class VarName extends Name {
 	
 	@Override
 	public Value setValue(Value val) {
-		// TODO Auto-generated method stub
-		return null;
+		return ScopeManager.getVar(this).setValue(val);
 	}
 	
 	@Override
-	public Value getValue() {
-		// TODO Auto-generated method stub
-		return null;
+	public Value getValue() { return ScopeManager.getVar(this).getValue(); }
+	
+	/** A local with a slot gets loaded directly from the {@link Frame}. */
+	@Override
+	public void lower(Assembler asm) {
+		if (getSlot() >= 0)
+			asm.load(this);
+		else
+			asm.eval(this);
 	}
 	
 }
@@ -11,30 +11,59 @@ import building.expressions.normal.operators.infix.*;
 import building.expressions.possible.multicall.*;
 import building.types.specific.operators.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import interpreting.modules.merger.*;
 import misc.helper.*;
 import runtime.datatypes.*;
 
-/** Consist of n Operators and n + 1 ValueHolders. */
-public final class Operation extends Expression implements MultiCallable, ValueHolder {
+/**
+ * A node in the immutable binary tree of an operation, that consists of n Operators and n + 1
+ * ValueHolders.
+ *
+ * The precedence gets resolved once, when the {@link Operation} is constructed in the
+ * {@link SuperMerger}. The operands of a node are either values or other {@link Operation}s.
+ */
+public final class Operation extends Expression implements MultiCallable, Foldable, Lowerable {
 	
-	private final List<Operatable> operation;
+	private final ValueHolder left;
+	private final InfixOperator op;
+	private final ValueHolder right;
 	
-	/** Gets called when an Operation is constructed in the {@link SuperMerger}. */
+	private Value folded = null;
+	
+	/**
+	 * Gets called when an Operation is constructed in the {@link SuperMerger}.
+	 *
+	 * @param op is the flat list of alternating {@link ValueHolder}s and {@link InfixOperator}s. This
+	 * {@link Operation} becomes the root of its tree.
+	 */
 	public Operation(int lineID, List<Operatable> op) {
 		super(lineID, MERGED);
 		if (op.size() < 3)
 			throw new AssertionError("An operation has to atleast contain one operator and two values.\nWas " + op);
-		this.operation = format(op);
-		if (op.contains(NULL))
+		List<Operatable> operation = format(op);
+		int root = findRoot(operation);
+		this.left = buildTree(operation.subList(0, root));
+		this.op = (InfixOperator) operation.get(root);
+		this.right = buildTree(operation.subList(root + 1, operation.size()));
+		if (operation.contains(NULL))
 			throw new PseudocodeException("NullNotAllowed",
 					"Null isn't allowed to be in an operation.\n"
 							+ StringHelper.pointUnderline(toString(), toString().indexOf(NULL.toString()), NULL.toString().length()),
 					getBlueprintPath());
 	}
 	
+	/** Creates a single node, whose operands are already resolved. */
+	public Operation(int lineID, ValueHolder left, InfixOperator op, ValueHolder right) {
+		super(lineID, MERGED);
+		this.left = left;
+		this.op = op;
+		this.right = right;
+	}
+	
 	/** Converts multiple ComparativeOperators */
 	private List<Operatable> format(List<Operatable> op) {
+		op = new ArrayList<>(op);
 		for (int i = 1; i < op.size(); i += 2) {
 			if (op.get(i) instanceof ComparativeOperator && i + 2 < op.size() && op.get(i + 2) instanceof ComparativeOperator) {
 				op.add(i + 2, new LogicalOperator(lineIdentifier, InfixOpType.AND));
@@ -45,44 +74,84 @@ public final class Operation extends Expression implements MultiCallable, ValueH
 		return Collections.unmodifiableList(op);
 	}
 	
+	/** Builds the tree for a part of the formatted operation. */
+	private ValueHolder buildTree(List<Operatable> part) {
+		if (part.size() == 1)
+			return (ValueHolder) part.get(0);
+		int root = findRoot(part);
+		return new Operation(lineIdentifier, buildTree(part.subList(0, root)), (InfixOperator) part.get(root),
+				buildTree(part.subList(root + 1, part.size())));
+	}
+	
+	/**
+	 * Returns the index of the operator that binds the weakest, and therefore gets performed last.
+	 *
+	 * For equal ranks, this is the last left-associative or the first right-associative operator.
+	 */
+	private static int findRoot(List<Operatable> part) {
+		int root = 1;
+		for (int i = 3; i < part.size(); i += 2) {
+			InfixOperator o = (InfixOperator) part.get(i);
+			int best = ((InfixOperator) part.get(root)).op.rank;
+			if (o.op.rank < best || o.op.rank == best && o.isLeftAssociative())
+				root = i;
+		}
+		return root;
+	}
+	
 	@Override
-	public Value getValue() { return recValue(new ArrayList<>(operation)); }
+	public boolean isConstant() { return Foldable.isConstant(left) && Foldable.isConstant(right); }
 	
-	private Value recValue(List<Operatable> op) {
-		ValueHolder a = (ValueHolder) op.remove(0);
-		InfixOperator o = (InfixOperator) op.remove(0);
-		ValueHolder b = (ValueHolder) op.remove(0);
-		if (a instanceof MultiCall mc)
-			return o.executeFor(mc.content, b); // <- internal b call
+	@Override
+	public void fold() {
+		Foldable.fold(left);
+		Foldable.fold(right);
+		if (folded == null && isConstant())
+			folded = ConstantFolder.evaluate(this);
+	}
+	
+	@Override
+	public Value getValue() {
+		if (folded != null)
+			return folded;
+		if (left instanceof MultiCall mc)
+			return op.executeFor(mc.content, right); // <- internal right call
+		if (right instanceof MultiCall mc)
+			return op.executeFor(left.getValue(), mc.content); // <- internal left call
+		return op.perform(left, right);
+	}
+	
+	/**
+	 * Lowers both operands and the operator. And and or skip their right operand like in
+	 * {@link LogicalOperator#perform}, all other logical operators and multi-calls get evaluated by
+	 * the tree walker.
+	 */
+	@Override
+	public void lower(Assembler asm) {
+		if (folded != null)
+			asm.constant(folded);
+		else if (left instanceof MultiCall || right instanceof MultiCall)
+			asm.eval(this);
+		else if (op.op == InfixOpType.AND || op.op == InfixOpType.OR) {
+			asm.value(left);
+			asm.bool(op);
+			asm.dup();
+			int end = asm.jumpIf(op.op == InfixOpType.OR);
+			asm.pop();
+			asm.value(right);
+			asm.bool(op);
+			asm.bind(end);
+		} else if (op instanceof LogicalOperator)
+			asm.eval(this);
 		else {
-			a = a.getValue(); // <- a call only here
-			if (b instanceof MultiCall mc)
-				return o.executeFor(a, mc.content); // <- internal a call
-		}
-		while (!op.isEmpty()) {
-			InfixOperator n = (InfixOperator) op.remove(0);
-			ValueHolder c = (ValueHolder) op.remove(0);
-			if (o.op.rank >= n.op.rank || n.isRightAssociative()) {
-				a = o.perform(a, b);
-				o = n;
-				b = c;
-			} else {
-				b = n.perform(b, c);
-			}
+			asm.value(left);
+			asm.value(right);
+			asm.binary(op);
 		}
-		return o.perform(a, b);
 	}
 	
 	@Override
 	public String toString() {
-		String res = "";
-		for (Operatable e : operation) {
-			res += switch (e) {
-				case InfixOperator io -> " " + io.type + " ";
-				case ValueHolder vh -> vh.toString();
-				default -> throw new PseudocodeException("IllegalOperation", "Illegal Element in Operation: " + e, getBlueprintPath());
-			};
-		}
-		return res;
+		return left + " " + op.type + " " + right;
 	}
-}
\ No newline at end of file
+}
@@ -89,19 +89,19 @@ public class ArithmeticOperator extends InfixOperator {
 	private Value mult(Value a, Value b) throws NonExpressionException {
 		// Array-Multiplication
 		if (a instanceof ArrayValue arr && b instanceof IntValue i)
-			return arr.multiply(i.raw().intValueExact(), getBlueprintPath());
+			return arr.multiply(i.intValueExact(), getBlueprintPath());
 		
 		// Array-Multiplication
 		if (a instanceof IntValue i && b instanceof ArrayValue arr)
-			return arr.multiply(i.value.intValueExact(), getBlueprintPath());
+			return arr.multiply(i.intValueExact(), getBlueprintPath());
 		
 		// Text-Multiplication
 		if (a instanceof TextValue txt && b instanceof IntValue i)
-			return txt.multiply(i.value.intValueExact(), getBlueprintPath());
+			return txt.multiply(i.intValueExact(), getBlueprintPath());
 		
 		// Text-Multiplication
 		if (a instanceof IntValue i && b instanceof TextValue txt)
-			return txt.multiply(i.value.intValueExact(), getBlueprintPath());
+			return txt.multiply(i.intValueExact(), getBlueprintPath());
 		
 		// Arithmetical Addition
 		return a.asNr().mult(b.asNr());
@@ -3,9 +3,8 @@ package building.expressions.normal.operators.infix;
 import building.expressions.abstractions.interfaces.*;
 import building.types.specific.operators.*;
 import errorhandeling.*;
-import misc.constants.*;
 import runtime.datatypes.*;
-import runtime.datatypes.array.*;
+import runtime.datatypes.dict.*;
 
 public class InOperator extends InfixOperator {
 	
@@ -16,7 +15,12 @@ public class InOperator extends InfixOperator {
 	@Override
 	public BoolValue perform(ValueHolder a, ValueHolder b) {
 		try {
-			return ((ArrayValue) b.as(TypeConstants.VAR_ARR)).contains(a.getValue());
+			Value container = b.getValue();
+			if (container instanceof DictValue d)
+				return d.containsKey(a.getValue());
+			if (container instanceof SetValue s)
+				return s.contains(a.getValue());
+			return container.asVarArray().contains(a.getValue());
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, getBlueprintPath());
 		}
@@ -75,8 +75,8 @@ public class PostfixOperator extends PossibleMainExpression implements MultiCall
 	}
 	
 	@Override
-	public boolean execute() {
+	public int execute() {
 		getValue();
-		return callNextLine();
+		return nextLine();
 	}
 }
@@ -9,6 +9,7 @@ import building.expressions.normal.operators.postfix.*;
 import building.expressions.possible.multicall.*;
 import building.types.specific.operators.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import runtime.datatypes.*;
 import runtime.datatypes.array.*;
 
@@ -16,7 +17,7 @@ import runtime.datatypes.array.*;
  * @see PostfixOperator
  * @see InfixOperator
  */
-public class PrefixOperator extends PossibleMainExpression implements MultiCallableValueHolder {
+public class PrefixOperator extends PossibleMainExpression implements MultiCallableValueHolder, Lowerable {
 	
 	private final ValueHolder content;
 	
@@ -42,6 +43,21 @@ public class PrefixOperator extends PossibleMainExpression implements MultiCalla
 		return ArrayValue.newInstance(res);
 	}
 	
+	/** Applies a negation to an already evaluated operand. */
+	public Value apply(Value v) {
+		return evaluate(v);
+	}
+	
+	/** Only the negations get lowered, as an increment has to write back into its operand. */
+	@Override
+	public void lower(Assembler asm) {
+		if ((type == PrefixOpType.NEG || type == PrefixOpType.NOT) && !(content instanceof MultiCall)) {
+			asm.value(content);
+			asm.unary(this);
+		} else
+			asm.eval(this);
+	}
+	
 	private Value evaluate(ValueHolder val) {
 		Value v = val.getValue();
 		try {
@@ -70,8 +86,8 @@ public class PrefixOperator extends PossibleMainExpression implements MultiCalla
 	}
 	
 	@Override
-	public boolean execute() {
+	public int execute() {
 		getValue();
-		return callNextLine();
+		return nextLine();
 	}
 }
@@ -8,19 +8,24 @@ import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
 import building.expressions.main.blueprints.*;
 import building.expressions.main.functions.*;
+import building.expressions.main.statements.*;
 import building.expressions.normal.containers.name.*;
 import building.expressions.possible.multicall.*;
 import errorhandeling.*;
+import interpreting.modules.interpreter.*;
 import runtime.datatypes.*;
 import runtime.datatypes.array.*;
 import runtime.defmanager.*;
 
-public class Call extends PossibleMainExpression implements MultiCallableValueHolder, NameHolder {
+public class Call extends PossibleMainExpression implements MultiCallableValueHolder, NameHolder, Lowerable {
 	
 	private final Name calledFunc;
 	private final ValueHolder[] parameters;
 	private final Blueprint target;
 	
+	/** The called {@link Definition}. Gets resolved once, on the first call. */
+	private Definition cachedDef = null;
+	
 	/** If the call contains a multi-call in the parameters, it get extracted in the constructor. */
 	private MultiCall multiCall = null;
 	
@@ -53,9 +58,9 @@ public class Call extends PossibleMainExpression implements MultiCallableValueHo
 	}
 	
 	@Override
-	public boolean execute() {
+	public int execute() {
 		getValue();
-		return callNextLine();
+		return nextLine();
 	}
 	
 	@Override
@@ -80,11 +85,53 @@ public class Call extends PossibleMainExpression implements MultiCallableValueHo
 		return null;
 	}
 	
+	/** Calls the target-{@link Definition} with already evaluated params. */
+	public Value callWith(Value[] args) {
+		return getTarget().call(args);
+	}
+	
+	/** Lowers the params and the call. A multi-call gets evaluated by the tree walker. */
+	@Override
+	public void lower(Assembler asm) {
+		if (multiCall != null) {
+			asm.eval(this);
+			return;
+		}
+		for (ValueHolder p : parameters)
+			asm.value(p);
+		asm.call(this, parameters.length);
+	}
+	
 	/** Finds target-{@link Definition}, calls it with the params and returns the return-values. */
 	private Value callTarget(ValueHolder... params) {
-		return DefManager.get(calledFunc.getNameString(), parameters.length, target).call(params);
+		return getTarget().call(params);
+	}
+	
+	/**
+	 * Returns the called {@link Definition}.
+	 *
+	 * The target cannot change after the merge, so it gets looked up only once per {@link Call}.
+	 */
+	private Definition getTarget() {
+		if (cachedDef == null)
+			cachedDef = DefManager.get(calledFunc.getNameString(), parameters.length, target);
+		return cachedDef;
 	}
 	
+	/**
+	 * Tells, if this is a plain {@link Call} to the passed {@link Definition}.
+	 *
+	 * Gets used at merge time to find self-recursive tail calls. (See {@link ReturnStatement})
+	 */
+	public boolean isCallTo(Definition def) {
+		return multiCall == null && parameters.length == def.expectedParams() //
+				&& calledFunc.getNameString().equals(def.getNameString()) //
+				&& target.equals(def.getBlueprintPath().blueprint);
+	}
+	
+	/** Returns the parameters of this {@link Call}. */
+	public ValueHolder[] getParameters() { return parameters; }
+	
 	/** Returns the name of the called {@link Definition}. */
 	@Override
 	public Name getName() { return calledFunc.getName(); }
@@ -24,9 +24,9 @@ public abstract class Allocating extends PossibleMainExpression implements Value
 	
 	/** Assigns the value and calls the next line afterwards. */
 	@Override
-	public final boolean execute() {
+	public final int execute() {
 		getValue();
-		return callNextLine();
+		return nextLine();
 	}
 	
 	@Override
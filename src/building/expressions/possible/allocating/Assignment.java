@@ -1,12 +1,11 @@
 package building.expressions.possible.allocating;
 
-import java.util.*;
-
 import building.expressions.abstractions.interfaces.*;
 import building.expressions.normal.containers.*;
-import building.expressions.normal.operators.*;
+import building.expressions.normal.containers.name.*;
 import building.expressions.normal.operators.infix.*;
 import building.types.specific.*;
+import interpreting.modules.interpreter.*;
 import runtime.datatypes.*;
 import runtime.datatypes.array.*;
 
@@ -14,7 +13,7 @@ import runtime.datatypes.array.*;
  * Assigns a value to a {@link Variable} thats already initialised, and returns the {@link Value}
  * afterwards.
  */
-public class Assignment extends Allocating {
+public class Assignment extends Allocating implements Lowerable {
 	
 	private final InfixOperator op;
 	
@@ -53,12 +52,26 @@ public class Assignment extends Allocating {
 	 */
 	@Override
 	public Value getValue() {
-		Value value = val.getValue();
+		return assign(val.getValue());
+	}
+	
+	/** Assigns an already evaluated value. (See {@link #getValue()}) */
+	public Value assign(Value value) {
 		if (target instanceof ArrayAccess aac)
 			return aac.setValue(value);
 		if (op != null)
-			value = new Operation(lineIdentifier, List.of(target.getValue(), op, value)).getValue();
+			value = op.perform(target.getValue(), value);
 		target.setValue(value);
 		return value;
 	}
+	
+	/** A plain assignment to a local with a slot gets stored directly in the {@link Frame}. */
+	@Override
+	public void lower(Assembler asm) {
+		asm.value(val);
+		if (op == null && target instanceof VarName n && n.getSlot() >= 0)
+			asm.store(n);
+		else
+			asm.assign(this);
+	}
 }
@@ -16,7 +16,7 @@ import runtime.datatypes.*;
  *
  * {@link ArrayVariable}s are getting inititlised by {@link ArrayDeclaration}s.
  */
-public class Declaration extends Allocating implements Flaggable {
+public class Declaration extends Allocating implements Flaggable, Lowerable {
 	
 	protected final Set<FlagType> flags = new HashSet<>();
 	private final DataType datatype;
@@ -40,11 +40,21 @@ public class Declaration extends Allocating implements Flaggable {
 	 */
 	@Override
 	public Value getValue() {
-		Value v = val.getValue();
+		return declare(val.getValue());
+	}
+	
+	/** Initialises the {@link Variable} with an already evaluated value. */
+	public Value declare(Value v) {
 		new Variable(lineIdentifier, datatype, (Name) target, v).addFlags(flags);
 		return v;
 	}
 	
+	@Override
+	public void lower(Assembler asm) {
+		asm.value(val);
+		asm.declare(this);
+	}
+	
 	@Override
 	public void addFlags(Set<FlagType> flags) {
 		flags.addAll(flags);
@@ -44,6 +44,7 @@ public enum SuperType implements UnspecificType {
 			TO,
 			STEP,
 			AS,
+			ARROW_R,
 			MULTI_CALL_END),
 	
 	START_OF_LINE_TYPE(KEYWORD_TYPE, VAL_HOLDER_TYPE, FLAG_TYPE, CLOSE_BLOCK, BLUEPRINT_TYPE);
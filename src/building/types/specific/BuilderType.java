@@ -34,7 +34,10 @@ public enum BuilderType implements SpecificType {
 	/** Found in any {@link ScopeHolder} */
 	CLOSE_BLOCK("}"),
 	
-	/** An Arrow at the end of a func-declaration, used to indicate an oncoming return type. */
+	/**
+	 * An Arrow at the end of a func-declaration, used to indicate an oncoming return type, or between
+	 * a key and its value in a dict-literal.
+	 */
 	ARROW_R("->"),
 	
 	/** A comma, used in Arrays, Calls, Declarations, etc.. */
@@ -85,15 +88,15 @@ public enum BuilderType implements SpecificType {
 	public AbstractType[] abstractExpected() {
 		return switch (this) {
 			case ARRAY_START -> new AbstractType[] {VAL_HOLDER_TYPE, ARRAY_END, RANGE};
-			case ARRAY_END -> new AbstractType[] {ARRAY_START, AFTER_VALUE_TYPE, ASSIGNMENT_TYPE, NAME};
+			case ARRAY_END -> new AbstractType[] {ARRAY_START, AFTER_VALUE_TYPE, ASSIGNMENT_TYPE, NAME, RANGE};
 			case OPEN_BRACKET -> new AbstractType[] {VAL_HOLDER_TYPE, CLOSE_BRACKET};
-			case CLOSE_BRACKET -> new AbstractType[] {ARRAY_START, OPEN_BRACKET, DYNAMIC_TYPE, AFTER_VALUE_TYPE, ARROW_R};
-			case ARROW_R -> new AbstractType[] {DATA_TYPE};
+			case CLOSE_BRACKET -> new AbstractType[] {ARRAY_START, OPEN_BRACKET, DYNAMIC_TYPE, AFTER_VALUE_TYPE, RANGE};
+			case ARROW_R -> new AbstractType[] {VAL_HOLDER_TYPE};
 			case COMMA -> new AbstractType[] {VAL_HOLDER_TYPE};
 			case MULTI_CALL_START -> new AbstractType[] {VAL_HOLDER_TYPE};
 			case MULTI_CALL_END -> new AbstractType[] {AFTER_VALUE_TYPE};
 			case MAYBE -> new AbstractType[] {NAME, OPEN_BLOCK, ARRAY_START, CLOSE_BRACKET};
-			case RANGE -> new AbstractType[] {LITERAL};
+			case RANGE -> new AbstractType[] {VAL_HOLDER_TYPE, ARRAY_END};
 			case TO, STEP -> new AbstractType[] {VAL_HOLDER_TYPE};
 			case AS -> new AbstractType[] {NAME};
 			case OPEN_BLOCK, CLOSE_BLOCK, MULTI_CLOSE_SCOPE, SINGLE_LINE_COMMENT -> new AbstractType[] {};
@@ -39,7 +39,7 @@ public enum DynamicType implements SpecificType {
 	@Override
 	public AbstractType[] abstractExpected() {
 		return switch (this) {
-			case NAME -> new AbstractType[] {AFTER_VALUE_TYPE, ASSIGNMENT_TYPE, OPEN_BRACKET, ARRAY_START};
+			case NAME -> new AbstractType[] {AFTER_VALUE_TYPE, ASSIGNMENT_TYPE, OPEN_BRACKET, ARRAY_START, RANGE};
 			case LITERAL -> new AbstractType[] {AFTER_VALUE_TYPE, RANGE};
 			case STATIC_LINK -> new AbstractType[] {NAME};
 		};
@@ -8,6 +8,7 @@ import static building.types.specific.KeywordType.*;
 
 import java.util.*;
 
+import building.expressions.main.functions.*;
 import building.expressions.normal.containers.*;
 import building.types.abstractions.*;
 
@@ -37,6 +38,13 @@ public enum FlagType implements SpecificType {
 	 */
 	CONSTANT("const", 1),
 	
+	/**
+	 * Tells, that the following function has no side-effects, so its return-values can get cached.
+	 * 
+	 * @see MemoCache
+	 */
+	PURE("pure", 2),
+	
 	/**
 	 * Has no implementation yet.
 	 */
@@ -60,9 +68,10 @@ public enum FlagType implements SpecificType {
 	public AbstractType[] abstractExpected() {
 		return switch (this) {
 			case NATIVE -> new AbstractType[] {FUNC};
-			case FINAL -> new AbstractType[] {DATA_TYPE, NATIVE, OPEN_BLOCK, FUNC, NAME};
+			case FINAL -> new AbstractType[] {DATA_TYPE, NATIVE, PURE, OPEN_BLOCK, FUNC, NAME};
 			case CONSTANT -> new AbstractType[] {DATA_TYPE, OPEN_BLOCK, NAME};
-			case PUBLIC -> new AbstractType[] {DATA_TYPE, NATIVE, FINAL, CONSTANT, OPEN_BLOCK, FUNC};
+			case PURE -> new AbstractType[] {FUNC};
+			case PUBLIC -> new AbstractType[] {DATA_TYPE, NATIVE, FINAL, CONSTANT, PURE, OPEN_BLOCK, FUNC};
 		};
 	}
 	
@@ -17,6 +17,9 @@ public class DataType {
 	public final boolean allowsNull;
 	public final Range[] ranges;
 	
+	/** The lazily created results of {@link #inner(int)}. */
+	private DataType[] inner = null;
+	
 	/**
 	 * Creates a {@link DataType} from the following components:
 	 *
@@ -54,6 +57,20 @@ public class DataType {
 		return type.stdVal(allowsNull);
 	}
 	
+	/**
+	 * Returns the type of the elements, that lie n dimensions deeper. The results get cached, so that
+	 * array-accesses don't allocate.
+	 */
+	public DataType inner(int n) {
+		if (n == 0)
+			return this;
+		if (inner == null)
+			inner = new DataType[ranges.length];
+		if (inner[n - 1] == null)
+			inner[n - 1] = new DataType(type, allowsNull, Arrays.copyOfRange(ranges, n, ranges.length));
+		return inner[n - 1];
+	}
+	
 	/** Returns true, if this is an arraytype. */
 	public boolean isArrayType() { return ranges.length > 0; }
 	
@@ -10,6 +10,7 @@ import static runtime.datatypes.numerical.NumberValue.*;
 import building.types.abstractions.*;
 import errorhandeling.*;
 import runtime.datatypes.*;
+import runtime.datatypes.dict.*;
 import runtime.datatypes.textual.*;
 
 /**
@@ -18,7 +19,7 @@ import runtime.datatypes.textual.*;
 public enum SingleType implements SpecificType {
 	
 	// Vartypes
-	VAR("var"), TEXT("text"), CHAR("char"), BOOL("bool"), NR("nr"), INT("int");
+	VAR("var"), TEXT("text"), CHAR("char"), BOOL("bool"), NR("nr"), INT("int"), DICT("dict"), SET("set");
 	
 	public final String txt;
 	
@@ -49,6 +50,10 @@ public enum SingleType implements SpecificType {
 				yield new TextValue("");
 			case CHAR:
 				yield new CharValue(' ');
+			case DICT:
+				yield new DictValue();
+			case SET:
+				yield SetValue.EMPTY;
 		};
 	}
 	
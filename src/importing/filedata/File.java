@@ -201,15 +201,50 @@ public class File {
 		for (int i = def.startLine(); i <= def.endLine(); i++) {
 			Set<String> matches = ProgramHelper.getAllCallsInLine(content.get(i));
 			for (String match : matches) {
-				int idxOfBrack = match.indexOf('(');
-				String name = match.substring(0, idxOfBrack);
-				int params = idxOfBrack == match.length() - 2 ? 0 : ProgramHelper.runnableMatches(match, ",") + 1;
+				String name = match.substring(0, match.indexOf('('));
+				int params = countParams(match);
 				calls.add(new CallInfo(new DataPath(path, i), findDefOf(name, params, i), name, params));
 			}
+			calls.addAll(findDefsPassedAsText(i));
 		}
 		return calls;
 	}
 	
+	/**
+	 * Returns the {@link CallInfo}s for the defs of this file, whose names get passed as text, like
+	 * the function of a pipeline in map(arr, "square").
+	 */
+	private Set<CallInfo> findDefsPassedAsText(int lineIdx) {
+		Set<CallInfo> calls = new HashSet<>();
+		String line = content.get(lineIdx);
+		for (String match : getAllRunnable(line, "\"\\w+\"")) {
+			String name = match.substring(1, match.length() - 1);
+			for (DefInfo def : allDefs) {
+				if (!def.isNative() && def.defName().equals(name))
+					calls.add(new CallInfo(new DataPath(path, lineIdx), path, name, def.paramCount()));
+			}
+		}
+		return calls;
+	}
+	
+	/** Returns the number of parameters in a call like f(a, g(b, c)), without those of inner calls. */
+	private static int countParams(String call) {
+		int idxOfBrack = call.indexOf('(');
+		if (idxOfBrack == call.length() - 2)
+			return 0;
+		int params = 1, depth = 0;
+		for (int i = idxOfBrack + 1; i < call.length() - 1; i++) {
+			if (!isRunnableCode(i, call))
+				continue;
+			switch (call.charAt(i)) {
+				case '(', '[', '{' -> depth++;
+				case ')', ']', '}' -> depth--;
+				case ',' -> params += depth == 0 ? 1 : 0;
+			}
+		}
+		return params;
+	}
+	
 	/**
 	 * Searches for the {@link FilePath} of the {@link File} that contains the {@link DefInfo} thats
 	 * being called.
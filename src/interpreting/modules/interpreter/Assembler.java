@@ -0,0 +1,251 @@
+package interpreting.modules.interpreter;
+
+import static interpreting.modules.interpreter.VirtualMachine.*;
+import static misc.supporting.Output.*;
+
+import java.util.*;
+
+import building.expressions.abstractions.*;
+import building.expressions.abstractions.interfaces.*;
+import building.expressions.main.functions.*;
+import building.expressions.main.statements.*;
+import building.expressions.normal.casting.*;
+import building.expressions.normal.containers.*;
+import building.expressions.normal.containers.name.*;
+import building.expressions.normal.operators.infix.*;
+import building.expressions.normal.operators.prefix.*;
+import building.expressions.possible.*;
+import building.expressions.possible.allocating.*;
+import launching.*;
+import runtime.datatypes.*;
+
+/**
+ * Lowers the lines of a single {@link Definition} into a {@link Chunk}.
+ *
+ * The public methods get called by the {@link Lowerable}s. Each one appends a single instruction
+ * and keeps track of the depth of the operand-stack. Jumps to a line get resolved, after every line
+ * got lowered.
+ *
+ * @see VirtualMachine#compile(Definition)
+ */
+public final class Assembler {
+	
+	private int[] code = new int[64];
+	private int size = 0;
+	
+	private final List<Object> pool = new ArrayList<>();
+	
+	/** The index of every object in the {@link #pool}. */
+	private final Map<Object, Integer> indices = new IdentityHashMap<>();
+	
+	/** The depth of the operand-stack after the last instruction. */
+	private int depth = 0;
+	private int maxStack = 0;
+	private int maxArgs = 0;
+	
+	/** The lineID of the first lowered line. */
+	private final int first;
+	
+	/** The address of every lowered line, indexed by its lineID - {@link #first}. */
+	private final int[] lines;
+	
+	/** The addresses of all operands, that hold a lineID until {@link #finish()}. */
+	private final List<Integer> fixups = new ArrayList<>();
+	
+	/** Creates an {@link Assembler} for the lines from first to last (inclusive). */
+	Assembler(int first, int last) {
+		this.first = first;
+		this.lines = new int[last - first + 1];
+		Arrays.fill(lines, -1);
+	}
+	
+	// VALUES
+	
+	/**
+	 * Pushes the {@link Value} of any {@link ValueHolder}. Everything, that isn't {@link Lowerable},
+	 * gets evaluated by the tree walker.
+	 */
+	public void value(ValueHolder vh) {
+		if (vh instanceof Lowerable l)
+			l.lower(this);
+		else if (vh instanceof Value v)
+			constant(v);
+		else
+			eval(vh);
+	}
+	
+	/** Pushes a {@link Value} from the constant-pool. */
+	public void constant(Value v) {
+		op(CONST, 1);
+		arg(index(v));
+	}
+	
+	/** Pushes the {@link Value} of a {@link ValueHolder}, that gets evaluated by the tree walker. */
+	public void eval(ValueHolder vh) {
+		op(EVAL, 1);
+		arg(index(vh));
+	}
+	
+	/** Pushes the value of a local {@link Name}, that has a slot in the {@link Frame}. */
+	public void load(Name n) {
+		op(LOAD, 1);
+		arg(index(n));
+	}
+	
+	/** Stores the top of the stack in a local {@link Name} and keeps it on the stack. */
+	public void store(Name n) {
+		op(STORE, 0);
+		arg(index(n));
+	}
+	
+	/** Pops two operands and pushes the result of the {@link InfixOperator}. */
+	public void binary(InfixOperator op) {
+		op(BINARY, -1);
+		arg(index(op));
+	}
+	
+	/** Casts the top of the stack to a {@link BoolValue}. Errors point to the passed expression. */
+	public void bool(Expression at) {
+		op(BOOL, 0);
+		arg(index(at));
+	}
+	
+	/** Duplicates the top of the stack. */
+	public void dup() {
+		op(DUP, 1);
+	}
+	
+	/** Drops the top of the stack. */
+	public void pop() {
+		op(POP, -1);
+	}
+	
+	/**
+	 * Pops a {@link BoolValue} and jumps, if it matches the passed condition.
+	 *
+	 * @return the label, that has to get bound to the target by {@link #bind(int)}.
+	 */
+	public int jumpIf(boolean cond) {
+		op(cond ? JUMP_TRUE : JUMP_FALSE, -1);
+		arg(-1);
+		return size - 1;
+	}
+	
+	/** Lets a label from {@link #jumpIf(boolean)} point to the next instruction. */
+	public void bind(int label) {
+		code[label] = size;
+	}
+	
+	/** Pops the arguments and pushes the return-value of the {@link Call}. */
+	public void call(Call c, int args) {
+		op(CALL, 1 - args);
+		arg(index(c));
+		arg(args);
+		maxArgs = Math.max(maxArgs, args);
+	}
+	
+	/** Pops the indices and pushes the element, that the {@link ArrayAccess} reads. */
+	public void access(ArrayAccess a, int idxs) {
+		op(ACCESS, 1 - idxs);
+		arg(index(a));
+		arg(idxs);
+		maxArgs = Math.max(maxArgs, idxs);
+	}
+	
+	/** Casts the top of the stack by an {@link ExplicitCast}. */
+	public void cast(ExplicitCast c) {
+		op(CAST, 0);
+		arg(index(c));
+	}
+	
+	/** Applies a {@link PrefixOperator}, that changes no variable, to the top of the stack. */
+	public void unary(PrefixOperator p) {
+		op(UNARY, 0);
+		arg(index(p));
+	}
+	
+	/** Declares the {@link Variable} of a {@link Declaration} with the top of the stack. */
+	public void declare(Declaration d) {
+		op(DECLARE, 0);
+		arg(index(d));
+	}
+	
+	/** Replaces the top of the stack with the result of an {@link Assignment} of it. */
+	public void assign(Assignment a) {
+		op(ASSIGN, 0);
+		arg(index(a));
+	}
+	
+	// STATEMENTS
+	
+	/** Returns from the {@link Definition}. The returned value gets popped, if the statement has one. */
+	public void ret(ReturnStatement r, boolean hasValue) {
+		op(RETURN, hasValue ? -1 : 0);
+		arg(hasValue ? index(r) : -1);
+	}
+	
+	/** Pops the arguments of a self-recursive tail call, and restarts the {@link Function} with them. */
+	public void tailCall(Function f, int args) {
+		op(TAIL_CALL, -args);
+		arg(index(f));
+		arg(args);
+		maxArgs = Math.max(maxArgs, args);
+	}
+	
+	// INTERNAL
+	
+	/** Marks the start of a line. In the debug-mode, every line gets traced. */
+	void line(int lineID) {
+		lines[lineID - first] = size;
+		if (debugMode) {
+			op(LINE, 0);
+			arg(index(Main.PROGRAM.getLine(lineID).getMainExpression()));
+		}
+	}
+	
+	/** Appends an opcode, that changes the depth of the operand-stack by the delta. */
+	void op(int opcode, int delta) {
+		depth += delta;
+		assert depth >= 0 : "Operand-stack underflow in " + opcode;
+		maxStack = Math.max(maxStack, depth);
+		arg(opcode);
+	}
+	
+	/** Appends an operand. */
+	void arg(int operand) {
+		if (size == code.length)
+			code = Arrays.copyOf(code, size * 2);
+		code[size++] = operand;
+	}
+	
+	/** Appends the address of a line as an operand. */
+	void lineArg(int lineID) {
+		fixups.add(size);
+		arg(lineID);
+	}
+	
+	/** Returns the index of an object in the constant-pool, and adds it, if needed. */
+	int index(Object o) {
+		return indices.computeIfAbsent(o, k -> {
+			pool.add(k);
+			return pool.size() - 1;
+		});
+	}
+	
+	/** Returns the address of the next instruction. */
+	int here() {
+		return size;
+	}
+	
+	/** Resolves all jumps to lines and returns the finished {@link Chunk}. */
+	Chunk finish() {
+		assert depth == 0 : "The operand-stack has to be empty at the end of a Definition.";
+		for (int at : fixups) {
+			int addr = lines[code[at] - first];
+			if (addr < 0)
+				throw new AssertionError("Line " + code[at] + " was never lowered.");
+			code[at] = addr;
+		}
+		return new Chunk(Arrays.copyOf(code, size), pool.toArray(), maxStack, maxArgs);
+	}
+}
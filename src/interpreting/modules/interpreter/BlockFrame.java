@@ -0,0 +1,34 @@
+package interpreting.modules.interpreter;
+
+import building.expressions.abstractions.*;
+import building.expressions.main.loops.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.numerical.*;
+
+/**
+ * An entered block on the control-stack of the {@link Interpreter}.
+ *
+ * Every activation of a {@link BlockHolder} gets its own {@link BlockFrame}, so the state of
+ * an iteration survives recursive calls into the same block.
+ *
+ * @see Interpreter#run(int)
+ */
+public final class BlockFrame {
+	
+	/** The {@link BlockHolder} that opened this block. */
+	public final BlockHolder owner;
+	
+	/** The counter of the current iteration. Only used by {@link Loop}s. */
+	public NumberValue iteration;
+	
+	/** The bounds of this run of a {@link Loop}. Set by {@link Loop#enter(BlockFrame)}. */
+	public NumberValue start, inc, end;
+	
+	/** The iterated array of a {@link ForEachLoop}. */
+	public ArrayValue array;
+	
+	/** Creates a {@link BlockFrame} for an activation of the passed {@link BlockHolder}. */
+	public BlockFrame(BlockHolder owner) {
+		this.owner = owner;
+	}
+}
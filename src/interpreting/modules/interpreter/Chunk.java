@@ -0,0 +1,31 @@
+package interpreting.modules.interpreter;
+
+import building.expressions.main.functions.*;
+import runtime.datatypes.*;
+
+/**
+ * The bytecode of a single {@link Definition}, as it got lowered by the {@link Assembler}.
+ *
+ * @see VirtualMachine#run(int)
+ */
+final class Chunk {
+	
+	/** The instructions. Every opcode is followed by its operands. Jumps hold absolute addresses. */
+	final int[] code;
+	
+	/** The constant-pool, that holds every {@link Value} and expression, that an operand refers to. */
+	final Object[] pool;
+	
+	/** The maximum depth of the operand-stack. */
+	final int maxStack;
+	
+	/** The maximum amount of values, that a single instruction pops at once. */
+	final int maxArgs;
+	
+	Chunk(int[] code, Object[] pool, int maxStack, int maxArgs) {
+		this.code = code;
+		this.pool = pool;
+		this.maxStack = maxStack;
+		this.maxArgs = maxArgs;
+	}
+}
@@ -0,0 +1,208 @@
+package interpreting.modules.interpreter;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A minimal writer for JVM class-files, as they get defined by the {@link JitCompiler}.
+ *
+ * It only supports what a compiled {@link Chunk} needs: classes, fields, methods and their code.
+ * The class-files have the version 49 (Java 5), so the JVM verifies them by type-inference and no
+ * StackMapTable has to get computed.
+ */
+final class ClassWriter {
+	
+	static final int VERSION = 49;
+	
+	static final int ACC_PUBLIC = 0x0001, ACC_FINAL = 0x0010, ACC_SUPER = 0x0020;
+	
+	// Tags of the constant-pool
+	private static final int UTF8 = 1, INTEGER = 3, CLASS = 7, FIELD = 9, METHOD = 10, INTERFACE_METHOD = 11, NAME_AND_TYPE = 12;
+	
+	private final ByteArrayOutputStream cp = new ByteArrayOutputStream();
+	
+	/** The index of every constant, by its tag and content. */
+	private final Map<String, Integer> indices = new HashMap<>();
+	private int count = 1;
+	
+	private final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+	private int fieldCount = 0;
+	
+	private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+	private int methodCount = 0;
+	
+	// CONSTANT-POOL
+	
+	/** Returns the index of a string in modified UTF-8. */
+	int utf8(String s) {
+		Integer i = indices.get(UTF8 + s);
+		if (i != null)
+			return i;
+		u1(cp, UTF8);
+		try {
+			new DataOutputStream(cp).writeUTF(s); // Writes the length and the modified UTF-8
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return add(UTF8 + s);
+	}
+	
+	/** Returns the index of an int. */
+	int integer(int value) {
+		Integer i = indices.get(INTEGER + ":" + value);
+		if (i != null)
+			return i;
+		u1(cp, INTEGER);
+		u4(cp, value);
+		return add(INTEGER + ":" + value);
+	}
+	
+	/** Returns the index of a class by its internal name. (e.g. java/lang/Object) */
+	int type(String name) {
+		return ref(CLASS, utf8(name));
+	}
+	
+	/** Returns the index of a field. */
+	int field(String owner, String name, String desc) {
+		return ref(FIELD, type(owner), nameAndType(name, desc));
+	}
+	
+	/** Returns the index of a method in a class. */
+	int method(String owner, String name, String desc) {
+		return ref(METHOD, type(owner), nameAndType(name, desc));
+	}
+	
+	/** Returns the index of a method in an interface. */
+	int interfaceMethod(String owner, String name, String desc) {
+		return ref(INTERFACE_METHOD, type(owner), nameAndType(name, desc));
+	}
+	
+	private int nameAndType(String name, String desc) {
+		return ref(NAME_AND_TYPE, utf8(name), utf8(desc));
+	}
+	
+	/** Returns the index of a constant, that refers to other constants. */
+	private int ref(int tag, int... refs) {
+		String key = tag + Arrays.toString(refs);
+		Integer i = indices.get(key);
+		if (i != null)
+			return i;
+		u1(cp, tag);
+		for (int r : refs)
+			u2(cp, r);
+		return add(key);
+	}
+	
+	private int add(String key) {
+		if (count > 0xFFFF)
+			throw new IllegalStateException("The constant-pool is full.");
+		indices.put(key, count);
+		return count++;
+	}
+	
+	// MEMBERS
+	
+	/** Adds a field without attributes. */
+	void addField(int access, String name, String desc) {
+		u2(fields, access);
+		u2(fields, utf8(name));
+		u2(fields, utf8(desc));
+		u2(fields, 0);
+		fieldCount++;
+	}
+	
+	/** Adds a method, whose body is the passed {@link Code}. */
+	void addMethod(int access, String name, String desc, Code code) {
+		byte[] bytes = code.toByteArray();
+		u2(methods, access);
+		u2(methods, utf8(name));
+		u2(methods, utf8(desc));
+		u2(methods, 1); // Attributes
+		u2(methods, utf8("Code"));
+		u4(methods, 12 + bytes.length);
+		u2(methods, code.maxStack);
+		u2(methods, code.maxLocals);
+		u4(methods, bytes.length);
+		methods.write(bytes, 0, bytes.length);
+		u2(methods, 0); // Exception-table
+		u2(methods, 0); // Attributes
+		methodCount++;
+	}
+	
+	/** Returns the finished class-file. */
+	byte[] toByteArray(int access, String name, String superName, String... interfaces) {
+		int thisIdx = type(name), superIdx = type(superName);
+		int[] ifaceIdxs = new int[interfaces.length];
+		for (int i = 0; i < interfaces.length; i++)
+			ifaceIdxs[i] = type(interfaces[i]);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		u4(bytes, 0xCAFEBABE);
+		u2(bytes, 0);
+		u2(bytes, VERSION);
+		u2(bytes, count);
+		bytes.writeBytes(cp.toByteArray());
+		u2(bytes, access);
+		u2(bytes, thisIdx);
+		u2(bytes, superIdx);
+		u2(bytes, ifaceIdxs.length);
+		for (int i : ifaceIdxs)
+			u2(bytes, i);
+		u2(bytes, fieldCount);
+		bytes.writeBytes(fields.toByteArray());
+		u2(bytes, methodCount);
+		bytes.writeBytes(methods.toByteArray());
+		u2(bytes, 0); // Attributes
+		return bytes.toByteArray();
+	}
+	
+	private static void u1(ByteArrayOutputStream s, int v) {
+		s.write(v);
+	}
+	
+	private static void u2(ByteArrayOutputStream s, int v) {
+		s.write(v >> 8);
+		s.write(v);
+	}
+	
+	private static void u4(ByteArrayOutputStream s, int v) {
+		u2(s, v >> 16);
+		u2(s, v);
+	}
+	
+	/** The bytecode of a single method. */
+	static final class Code {
+		
+		private byte[] code = new byte[256];
+		private int size = 0;
+		
+		int maxStack, maxLocals;
+		
+		/** Appends a single byte. */
+		void u1(int v) {
+			if (size == code.length)
+				code = Arrays.copyOf(code, size * 2);
+			code[size++] = (byte) v;
+		}
+		
+		/** Appends two bytes. */
+		void u2(int v) {
+			u1(v >> 8);
+			u1(v);
+		}
+		
+		/** Overwrites two bytes at the passed position. */
+		void patch(int at, int v) {
+			code[at] = (byte) (v >> 8);
+			code[at + 1] = (byte) v;
+		}
+		
+		/** Returns the position of the next byte. */
+		int here() {
+			return size;
+		}
+		
+		byte[] toByteArray() {
+			return Arrays.copyOf(code, size);
+		}
+	}
+}
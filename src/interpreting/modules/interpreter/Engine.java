@@ -0,0 +1,39 @@
+package interpreting.modules.interpreter;
+
+import launching.*;
+
+/**
+ * The back ends that can execute a program. Gets selected with the launch-flag
+ * {@code --engine=...} in {@link Main}.
+ */
+public enum Engine {
+	
+	/**
+	 * Walks the merged {@link interpreting.program.ProgramLine}s directly. This is the reference
+	 * engine.
+	 */
+	TREE("tree"),
+	
+	/** Runs the program as flat bytecode in the {@link VirtualMachine}. */
+	VM("vm");
+	
+	public final String flag;
+	
+	private Engine(String flag) {
+		this.flag = flag;
+	}
+	
+	/** Returns the {@link Engine} for the value of the launch-flag. */
+	public static Engine fromFlag(String flag) {
+		for (Engine e : values()) {
+			if (e.flag.equals(flag))
+				return e;
+		}
+		throw new IllegalArgumentException("Unknown engine: " + flag);
+	}
+	
+	@Override
+	public String toString() {
+		return flag;
+	}
+}
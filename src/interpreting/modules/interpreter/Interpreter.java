@@ -6,6 +6,7 @@ import java.util.*;
 
 import building.expressions.abstractions.*;
 import building.expressions.abstractions.scopes.*;
+import building.expressions.main.*;
 import building.expressions.main.functions.*;
 import building.expressions.main.statements.*;
 import building.expressions.normal.containers.*;
@@ -29,33 +30,98 @@ public final class Interpreter {
 	public static void interpret() {
 		// INIT
 		registerGlobalVars();
+		if (Main.getEngine() == Engine.VM)
+			VirtualMachine.compile();
 		// RUNTIME
 		print("\nStarting Program: " + UNDERLINE);
 		// Call Main
 		DefManager.get(KeywordType.MAIN.toString(), 0, Main.PROGRAM.stream() //
 				.filter(l -> l.getMainExpression() instanceof MainFunction) //
 				.findFirst().get().getBlueprintPath().get().blueprint).call();
+		MemoCache.printStats();
 	}
 	
+	/** Signal of a {@link MainExpression}, that the current {@link Definition} returns. */
+	public static final int RETURN = -1;
+	
+	/** Signal of a {@link CloseBlock}, that the innermost entered block has ended. */
+	public static final int END_OF_BLOCK = -2;
+	
+	/**
+	 * Signal of a {@link ReturnStatement}, that the current {@link Function} calls itself in tail
+	 * position. The parameters are already rebound, so the body restarts at its first line.
+	 */
+	public static final int TAIL_CALL = -3;
+	
 	/**
-	 * Executes a MainExpression.
+	 * Executes all lines of a block, starting with the passed line, until its {@link CloseBlock} or a
+	 * {@link ReturnStatement} is reached.
 	 *
-	 * @param i the line of the MainExpression.
-	 * @param params are the passed parameters
+	 * Instead of letting every line call its successor, this runs a single dispatch-loop with a
+	 * program-counter. Every entered {@link BlockHolder} gets pushed onto a control-stack and gets
+	 * asked for the next line, when its {@link CloseBlock} is reached. This keeps the depth of the
+	 * Java-stack flat, no matter how long the program or how many iterations a loop has.
 	 *
-	 * @return false if this function shouldn't call any other functions afterwards.
-	 * {@link ReturnStatement#execute}
+	 * If {@link Engine#VM} is selected, the block gets run by the {@link VirtualMachine} instead.
+	 *
+	 * @param entry is the first line of the block.
+	 * @return false if a {@link ReturnStatement} got triggered. {@link ReturnStatement#execute}
 	 */
-	public static boolean execute(int i) {
-		MainExpression m = Main.PROGRAM.getLine(i).getMainExpression();
-		print(m.getBlueprintPath() + ": " + m.toString());
-		if (m instanceof ScopeHolder) {
+	public static boolean run(int entry) {
+		if (Main.getEngine() == Engine.VM)
+			return VirtualMachine.run(entry);
+		Deque<BlockFrame> control = new ArrayDeque<>();
+		int pc = entry;
+		while (true) {
+			MainExpression m = Main.PROGRAM.getLine(pc).getMainExpression();
+			if (debugMode)
+				print(m.getBlueprintPath() + ": " + m.toString());
+			if (m instanceof BlockHolder bh)
+				pc = enter(bh, control);
+			else
+				pc = m.execute();
+			if (pc == RETURN || pc == TAIL_CALL) {
+				while (!control.isEmpty())
+					leave(control.pop());
+				if (pc == RETURN)
+					return false;
+				pc = entry;
+			}
+			while (pc == END_OF_BLOCK) {
+				if (control.isEmpty())
+					return true;
+				BlockFrame frame = control.pop();
+				pc = frame.owner.leave(frame);
+				if (pc == frame.owner.getStart() + 1)
+					control.push(frame); // Repeat the block
+				else
+					leave(frame);
+			}
+		}
+	}
+	
+	/**
+	 * Executes the head of a {@link BlockHolder} and pushes a new {@link BlockFrame}, if its block
+	 * gets entered. Every {@link ScopeHolder} allocates its scope here.
+	 *
+	 * @return the lineID of the next line.
+	 */
+	private static int enter(BlockHolder bh, Deque<BlockFrame> control) {
+		BlockFrame frame = new BlockFrame(bh);
+		if (bh instanceof ScopeHolder)
 			ScopeManager.STACK.allocate();
-			boolean callNext = m.execute();
+		int next = bh.enter(frame);
+		if (next == bh.getStart() + 1)
+			control.push(frame);
+		else
+			leave(frame);
+		return next;
+	}
+	
+	/** Frees the scope of a {@link BlockFrame} that was popped from the control-stack. */
+	private static void leave(BlockFrame frame) {
+		if (frame.owner instanceof ScopeHolder)
 			ScopeManager.STACK.free();
-			return callNext;
-		}
-		return m.execute();
 	}
 	
 	/**
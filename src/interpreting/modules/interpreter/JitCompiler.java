@@ -0,0 +1,407 @@
+package interpreting.modules.interpreter;
+
+import static interpreting.modules.interpreter.ClassWriter.*;
+import static interpreting.modules.interpreter.VirtualMachine.*;
+
+import java.lang.invoke.*;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+import building.expressions.abstractions.*;
+import building.expressions.abstractions.interfaces.*;
+import building.expressions.abstractions.scopes.*;
+import building.expressions.main.functions.*;
+import building.expressions.main.loops.*;
+import building.expressions.main.statements.*;
+import building.expressions.normal.casting.*;
+import building.expressions.normal.containers.*;
+import building.expressions.normal.containers.name.*;
+import building.expressions.normal.operators.infix.*;
+import building.expressions.normal.operators.prefix.*;
+import building.expressions.possible.*;
+import building.expressions.possible.allocating.*;
+import interpreting.modules.interpreter.ClassWriter.*;
+import runtime.datatypes.*;
+
+/**
+ * Compiles the {@link Chunk} of a hot {@link Definition} into a hidden JVM class, so HotSpot can
+ * inline and optimise it like any other Java-code.
+ *
+ * Every instruction of the {@link VirtualMachine} becomes a short template of JVM-instructions, that
+ * calls the same methods as {@link VirtualMachine#run(int)}. The operand-stack of the VM becomes the
+ * operand-stack of the JVM, and its jumps become JVM-jumps. The constant-pool of the {@link Chunk}
+ * gets passed to the constructor of the class.
+ *
+ * @see Definition#runBody()
+ */
+public final class JitCompiler {
+	
+	/** HotSpot doesn't compile methods, that are larger than this. (-XX:-DontCompileHugeMethods) */
+	private static final int MAX_CODE = 8000;
+	
+	// JVM-opcodes
+	private static final int ICONST_0 = 0x03, ICONST_1 = 0x04, BIPUSH = 0x10, SIPUSH = 0x11, ILOAD_3 = 0x1d, ALOAD = 0x19,
+			ALOAD_0 = 0x2a, ALOAD_1 = 0x2b, ALOAD_2 = 0x2c, AALOAD = 0x32, ASTORE = 0x3a, ISTORE_3 = 0x3e, ASTORE_1 = 0x4c,
+			ASTORE_2 = 0x4d, AASTORE = 0x53, POP = 0x57, DUP = 0x59, DUP_X2 = 0x5b, SWAP = 0x5f, IINC = 0x84, IFEQ = 0x99,
+			IFNE = 0x9a, GOTO = 0xa7, IRETURN = 0xac, RETURN = 0xb1, GETSTATIC = 0xb2, GETFIELD = 0xb4, PUTFIELD = 0xb5,
+			INVOKEVIRTUAL = 0xb6, INVOKESPECIAL = 0xb7, INVOKESTATIC = 0xb8, INVOKEINTERFACE = 0xb9, NEW = 0xbb,
+			ANEWARRAY = 0xbd, CHECKCAST = 0xc0;
+	
+	// Locals of the compiled method: 0 this, 1 the pool, 2 the loops, 3 the amount of scopes, 4... the args
+	private static final int SCOPES = 3, ARGS = 4;
+	
+	/** The internal name of every compiled class. The JVM makes it unique. */
+	private static final String NAME = internal(JitCompiler.class).replace("JitCompiler", "Compiled");
+	
+	private final Chunk chunk;
+	
+	private final ClassWriter cw = new ClassWriter();
+	private final Code code = new Code();
+	
+	/** The position in the {@link #code} of every instruction, indexed by its VM-address. */
+	private final int[] positions;
+	
+	/** Every jump as {position of the opcode, VM-address of the target}. */
+	private final List<int[]> jumps = new ArrayList<>();
+	
+	private JitCompiler(Chunk chunk) {
+		this.chunk = chunk;
+		this.positions = new int[chunk.code.length];
+	}
+	
+	/**
+	 * Compiles the body of a {@link Definition}.
+	 *
+	 * @return the compiled body, that returns false if a {@link ReturnStatement} got triggered, or
+	 * null if the body is too large for a single JVM-method.
+	 */
+	public static BooleanSupplier compile(Definition def) {
+		Chunk chunk = VirtualMachine.chunkOf(def);
+		byte[] bytes;
+		try {
+			bytes = new JitCompiler(chunk).translate();
+		} catch (IllegalStateException tooLarge) {
+			return null;
+		}
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+			MethodHandle constructor = lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, Object[].class));
+			return (BooleanSupplier) constructor.invoke(chunk.pool);
+		} catch (Throwable e) {
+			throw new AssertionError("The body of " + def.getNameString() + " couldn't get compiled.", e);
+		}
+	}
+	
+	/** Returns the class-file, that implements {@link BooleanSupplier}. */
+	private byte[] translate() {
+		String object = internal(Object.class);
+		cw.addField(ACC_FINAL, "pool", desc(Object[].class));
+		// The constructor stores the constant-pool
+		Code init = new Code();
+		init.u1(ALOAD_0);
+		init.u1(INVOKESPECIAL);
+		init.u2(cw.method(object, "<init>", "()V"));
+		init.u1(ALOAD_0);
+		init.u1(ALOAD_1);
+		init.u1(PUTFIELD);
+		init.u2(cw.field(NAME, "pool", desc(Object[].class)));
+		init.u1(RETURN);
+		init.maxStack = 2;
+		init.maxLocals = 2;
+		cw.addMethod(ACC_PUBLIC, "<init>", methodDesc(void.class, Object[].class), init);
+		// The body
+		code.u1(ALOAD_0);
+		code.u1(GETFIELD);
+		code.u2(cw.field(NAME, "pool", desc(Object[].class)));
+		code.u1(ASTORE_1);
+		code.u1(NEW);
+		code.u2(cw.type(internal(ArrayDeque.class)));
+		code.u1(DUP);
+		code.u1(INVOKESPECIAL);
+		code.u2(cw.method(internal(ArrayDeque.class), "<init>", "()V"));
+		code.u1(ASTORE_2);
+		code.u1(ICONST_0);
+		code.u1(ISTORE_3);
+		int[] c = chunk.code;
+		for (int pc = 0; pc < c.length;) {
+			positions[pc] = code.here();
+			pc = translate(c, pc);
+		}
+		for (int[] jump : jumps) {
+			int offset = positions[jump[1]] - jump[0];
+			if (offset != (short) offset)
+				throw new IllegalStateException("The jump is too far.");
+			code.patch(jump[0] + 1, offset);
+		}
+		if (code.here() > MAX_CODE)
+			throw new IllegalStateException("The body is too large.");
+		code.maxStack = chunk.maxStack + 4; // The receiver and the building of an args-array
+		code.maxLocals = ARGS + chunk.maxArgs;
+		cw.addMethod(ACC_PUBLIC, "getAsBoolean", methodDesc(boolean.class), code);
+		return cw.toByteArray(ACC_PUBLIC | ACC_FINAL | ACC_SUPER, NAME, object, internal(BooleanSupplier.class));
+	}
+	
+	/**
+	 * Translates a single instruction of the {@link VirtualMachine}.
+	 *
+	 * @return the VM-address of the next instruction.
+	 */
+	private int translate(int[] c, int pc) {
+		switch (c[pc]) {
+			case CONST:
+				pool(c[pc + 1], Value.class);
+				return pc + 2;
+			case EVAL:
+				pool(c[pc + 1], ValueHolder.class);
+				invoke(INVOKEINTERFACE, ValueHolder.class, "getValue", Value.class);
+				return pc + 2;
+			case LOAD:
+				pool(c[pc + 1], Name.class);
+				invoke(INVOKESTATIC, VirtualMachine.class, "load", Value.class, Name.class);
+				return pc + 2;
+			case STORE:
+				code.u1(DUP);
+				pool(c[pc + 1], Name.class);
+				invoke(INVOKESTATIC, VirtualMachine.class, "store", void.class, Value.class, Name.class);
+				return pc + 2;
+			case BINARY:
+				receiver(c[pc + 1], InfixOperator.class, 2);
+				invoke(INVOKEVIRTUAL, InfixOperator.class, "perform", Value.class, ValueHolder.class, ValueHolder.class);
+				return pc + 2;
+			case BOOL:
+				pool(c[pc + 1], Expression.class);
+				invoke(INVOKESTATIC, VirtualMachine.class, "bool", BoolValue.class, Value.class, Expression.class);
+				return pc + 2;
+			case VirtualMachine.DUP:
+				code.u1(DUP);
+				return pc + 1;
+			case VirtualMachine.POP:
+				code.u1(POP);
+				return pc + 1;
+			case JUMP:
+				jump(GOTO, c[pc + 1]);
+				return pc + 2;
+			case JUMP_FALSE:
+			case JUMP_TRUE:
+				code.u1(CHECKCAST);
+				code.u2(cw.type(internal(BoolValue.class)));
+				code.u1(GETFIELD);
+				code.u2(cw.field(internal(BoolValue.class), "value", desc(boolean.class)));
+				jump(c[pc] == JUMP_TRUE ? IFNE : IFEQ, c[pc + 1]);
+				return pc + 2;
+			case CALL:
+				args(c[pc + 2]);
+				receiver(c[pc + 1], Call.class, 1);
+				invoke(INVOKEVIRTUAL, Call.class, "callWith", Value.class, Value[].class);
+				return pc + 3;
+			case ACCESS:
+				args(c[pc + 2]);
+				receiver(c[pc + 1], ArrayAccess.class, 1);
+				invoke(INVOKEVIRTUAL, ArrayAccess.class, "getAt", Value.class, Value[].class);
+				return pc + 3;
+			case CAST:
+				receiver(c[pc + 1], ExplicitCast.class, 1);
+				invoke(INVOKEVIRTUAL, ExplicitCast.class, "cast", Value.class, Castable.class);
+				return pc + 2;
+			case UNARY:
+				receiver(c[pc + 1], PrefixOperator.class, 1);
+				invoke(INVOKEVIRTUAL, PrefixOperator.class, "apply", Value.class, Value.class);
+				return pc + 2;
+			case DECLARE:
+				code.u1(DUP);
+				receiver(c[pc + 1], Declaration.class, 1);
+				invoke(INVOKEVIRTUAL, Declaration.class, "declare", Value.class, Value.class);
+				code.u1(POP);
+				return pc + 2;
+			case ASSIGN:
+				receiver(c[pc + 1], Assignment.class, 1);
+				invoke(INVOKEVIRTUAL, Assignment.class, "assign", Value.class, Value.class);
+				return pc + 2;
+			case VirtualMachine.RETURN:
+				if (c[pc + 1] >= 0) {
+					receiver(c[pc + 1], ReturnStatement.class, 1);
+					invoke(INVOKEVIRTUAL, ReturnStatement.class, "returnValue", void.class, Value.class);
+				}
+				code.u1(ILOAD_3);
+				invoke(INVOKESTATIC, VirtualMachine.class, "free", void.class, int.class);
+				code.u1(ICONST_0);
+				code.u1(IRETURN);
+				return pc + 2;
+			case TAIL_CALL:
+				args(c[pc + 2]);
+				receiver(c[pc + 1], Function.class, 1);
+				invoke(INVOKEVIRTUAL, Function.class, "rebind", void.class, ValueHolder[].class);
+				code.u1(ILOAD_3);
+				invoke(INVOKESTATIC, VirtualMachine.class, "free", void.class, int.class);
+				code.u1(ICONST_0);
+				code.u1(ISTORE_3);
+				code.u1(ALOAD_2);
+				invoke(INVOKEINTERFACE, Deque.class, "clear", void.class);
+				jump(GOTO, 0);
+				return pc + 3;
+			case BRANCH:
+				pool(c[pc + 1], ConditionalStatement.class);
+				invoke(INVOKESTATIC, VirtualMachine.class, "branch", boolean.class, Value.class, ConditionalStatement.class);
+				jump(IFEQ, c[pc + 2]);
+				scopes(1);
+				return pc + 3;
+			case ENTER:
+				scopeStack("allocate");
+				scopes(1);
+				return pc + 1;
+			case BRANCH_END:
+				scopeStack("free");
+				scopes(-1);
+				jump(GOTO, c[pc + 1]);
+				return pc + 2;
+			case LOOP:
+				pool(c[pc + 1], Loop.class);
+				code.u1(ALOAD_2);
+				invoke(INVOKESTATIC, VirtualMachine.class, "loop", boolean.class, Loop.class, Deque.class);
+				jump(IFEQ, c[pc + 2]);
+				scopes(1);
+				return pc + 3;
+			case LOOP_END:
+				code.u1(ALOAD_2);
+				invoke(INVOKESTATIC, VirtualMachine.class, "repeat", boolean.class, Deque.class);
+				jump(IFNE, c[pc + 1]);
+				scopes(-1);
+				jump(GOTO, c[pc + 2]);
+				return pc + 3;
+			case LOOP_START:
+				pool(c[pc + 1], ConditionalLoop.class);
+				code.u1(ALOAD_2);
+				invoke(INVOKESTATIC, VirtualMachine.class, "start", void.class, ConditionalLoop.class, Deque.class);
+				scopes(1);
+				return pc + 2;
+			case LOOP_TEST:
+				code.u1(ALOAD_2);
+				invoke(INVOKESTATIC, VirtualMachine.class, "test", boolean.class, Value.class, Deque.class);
+				jump(IFNE, pc + 3);
+				scopes(-1);
+				jump(GOTO, c[pc + 2]);
+				return pc + 3;
+			case LOOP_NEXT:
+				code.u1(ALOAD_2);
+				invoke(INVOKESTATIC, VirtualMachine.class, "next", void.class, Deque.class);
+				jump(GOTO, c[pc + 1]);
+				return pc + 2;
+			case END:
+				code.u1(ICONST_1);
+				code.u1(IRETURN);
+				return pc + 1;
+			case EXEC:
+				pool(c[pc + 1], MainExpression.class);
+				invoke(INVOKEVIRTUAL, MainExpression.class, "execute", int.class);
+				code.u1(POP);
+				return pc + 2;
+			case LINE:
+				pool(c[pc + 1], MainExpression.class);
+				invoke(INVOKESTATIC, VirtualMachine.class, "trace", void.class, MainExpression.class);
+				return pc + 2;
+			default:
+				throw new AssertionError("Unknown opcode " + c[pc] + " at " + pc + ".");
+		}
+	}
+	
+	// TEMPLATES
+	
+	/** Pushes an object from the constant-pool of the {@link Chunk}. */
+	private void pool(int idx, Class<?> type) {
+		code.u1(ALOAD_1);
+		push(idx);
+		code.u1(AALOAD);
+		code.u1(CHECKCAST);
+		code.u2(cw.type(internal(type)));
+	}
+	
+	/** Pushes an object from the constant-pool below the operands, that are on top of the stack. */
+	private void receiver(int idx, Class<?> type, int operands) {
+		pool(idx, type);
+		if (operands == 1)
+			code.u1(SWAP);
+		else {
+			code.u1(DUP_X2);
+			code.u1(POP);
+		}
+	}
+	
+	/** Pops the passed amount of values into a new array. */
+	private void args(int n) {
+		if (ARGS + n > 0xFF)
+			throw new IllegalStateException("Too many args.");
+		for (int i = n - 1; i >= 0; i--) {
+			code.u1(ASTORE);
+			code.u1(ARGS + i);
+		}
+		push(n);
+		code.u1(ANEWARRAY);
+		code.u2(cw.type(internal(Value.class)));
+		for (int i = 0; i < n; i++) {
+			code.u1(DUP);
+			push(i);
+			code.u1(ALOAD);
+			code.u1(ARGS + i);
+			code.u1(AASTORE);
+		}
+	}
+	
+	/** Pushes an int. */
+	private void push(int v) {
+		if (v >= 0 && v <= 5)
+			code.u1(ICONST_0 + v);
+		else if (v == (byte) v) {
+			code.u1(BIPUSH);
+			code.u1(v);
+		} else if (v == (short) v) {
+			code.u1(SIPUSH);
+			code.u2(v);
+		} else
+			throw new IllegalStateException("The constant-pool is too large.");
+	}
+	
+	/** Calls a method of {@link ScopeManager#STACK}. */
+	private void scopeStack(String method) {
+		code.u1(GETSTATIC);
+		code.u2(cw.field(internal(ScopeManager.class), "STACK", desc(ScopeManager.ScopeStack.class)));
+		invoke(INVOKEVIRTUAL, ScopeManager.ScopeStack.class, method, void.class);
+	}
+	
+	/** Counts the scopes, that this activation allocated. */
+	private void scopes(int delta) {
+		code.u1(IINC);
+		code.u1(SCOPES);
+		code.u1(delta);
+	}
+	
+	/** Appends a jump to a VM-address, whose offset gets resolved in the end. */
+	private void jump(int opcode, int target) {
+		jumps.add(new int[] { code.here(), target });
+		code.u1(opcode);
+		code.u2(0);
+	}
+	
+	/** Calls a method. Every param has to be a reference or an int. */
+	private void invoke(int opcode, Class<?> owner, String name, Class<?> ret, Class<?>... params) {
+		String desc = methodDesc(ret, params);
+		code.u1(opcode);
+		if (opcode == INVOKEINTERFACE) {
+			code.u2(cw.interfaceMethod(internal(owner), name, desc));
+			code.u1(1 + params.length);
+			code.u1(0);
+		} else
+			code.u2(cw.method(internal(owner), name, desc));
+	}
+	
+	private static String internal(Class<?> c) {
+		return c.getName().replace('.', '/');
+	}
+	
+	private static String methodDesc(Class<?> ret, Class<?>... params) {
+		return MethodType.methodType(ret, params).toMethodDescriptorString();
+	}
+	
+	private static String desc(Class<?> type) {
+		return type.descriptorString();
+	}
+}
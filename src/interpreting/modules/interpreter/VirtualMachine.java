@@ -0,0 +1,472 @@
+package interpreting.modules.interpreter;
+
+import static misc.supporting.Output.*;
+
+import java.util.*;
+
+import building.expressions.abstractions.*;
+import building.expressions.abstractions.interfaces.*;
+import building.expressions.abstractions.scopes.*;
+import building.expressions.main.*;
+import building.expressions.main.functions.*;
+import building.expressions.main.loops.*;
+import building.expressions.main.statements.*;
+import building.expressions.normal.casting.*;
+import building.expressions.normal.containers.*;
+import building.expressions.normal.containers.name.*;
+import building.expressions.normal.operators.infix.*;
+import building.expressions.normal.operators.prefix.*;
+import building.expressions.possible.*;
+import building.expressions.possible.allocating.*;
+import building.types.specific.*;
+import errorhandeling.*;
+import launching.*;
+import runtime.datatypes.*;
+
+/**
+ * The back end for {@link Engine#VM}.
+ *
+ * After {@link interpreting.program.Program#constructAndMerge()} the body of every
+ * {@link Definition} gets lowered by the {@link Assembler} into a {@link Chunk}: a flat
+ * instruction-array with a constant-pool. The instructions work on an operand-stack.
+ *
+ * <pre>
+ * -Every {@link Lowerable} expression gets lowered into single instructions. All other expressions
+ *  get evaluated by the tree walker. ({@link #EVAL})
+ * -Locals with a slot get read and written directly in the {@link Frame}.
+ * -Blocks without runtime-state ({@link FlagSpace}) disappear.
+ * -{@link ConditionalStatement}s only branch. Their ends jump to a pre-resolved target.
+ * -Only {@link Loop}s keep a {@link BlockFrame} on the control-stack.
+ * </pre>
+ *
+ * The {@link Interpreter} stays the reference for the semantics of every instruction.
+ */
+public final class VirtualMachine {
+	
+	// Opcodes and their operands. The stack gets written from left to right.
+	
+	/** Pushes a {@link Value} from the pool. Operand: the index. */
+	static final int CONST = 0;
+	/** Pushes the value of a {@link ValueHolder} from the pool, evaluated by the tree walker. */
+	static final int EVAL = 1;
+	/** Pushes the value of a local {@link Name} from the pool. */
+	static final int LOAD = 2;
+	/** value -> value. Stores the value in a local {@link Name} from the pool. */
+	static final int STORE = 3;
+	/** a, b -> result. Performs an {@link InfixOperator} from the pool. */
+	static final int BINARY = 4;
+	/** value -> bool. Casts the value. Errors point to the {@link Expression} from the pool. */
+	static final int BOOL = 5;
+	/** value -> value, value. */
+	static final int DUP = 6;
+	/** value -> */
+	static final int POP = 7;
+	/** Jumps to the operand. */
+	static final int JUMP = 8;
+	/** bool -> Jumps to the operand, if the {@link BoolValue} is false. */
+	static final int JUMP_FALSE = 9;
+	/** bool -> Jumps to the operand, if the {@link BoolValue} is true. */
+	static final int JUMP_TRUE = 10;
+	/** args -> result. Operands: the {@link Call} and the amount of args. */
+	static final int CALL = 11;
+	/** indices -> element. Operands: the {@link ArrayAccess} and the amount of indices. */
+	static final int ACCESS = 12;
+	/** value -> result. Performs an {@link ExplicitCast} from the pool. */
+	static final int CAST = 13;
+	/** value -> result. Performs a {@link PrefixOperator} from the pool. */
+	static final int UNARY = 14;
+	/** value -> value. Performs a {@link Declaration} from the pool. */
+	static final int DECLARE = 15;
+	/** value -> result. Performs an {@link Assignment} from the pool. */
+	static final int ASSIGN = 16;
+	/** [value] -> Leaves the {@link Definition}. Operand: the {@link ReturnStatement} or -1. */
+	static final int RETURN = 17;
+	/** args -> Restarts the body. Operands: the {@link Function} and the amount of args. */
+	static final int TAIL_CALL = 18;
+	/** bool -> Enters a {@link ConditionalStatement} from the pool, or jumps to the second operand. */
+	static final int BRANCH = 19;
+	/** Enters a {@link ConditionalStatement} without a condition. */
+	static final int ENTER = 20;
+	/** Frees the scope of a {@link ConditionalStatement} and jumps to the operand. */
+	static final int BRANCH_END = 21;
+	/** Enters a {@link Loop} from the pool, or jumps to the second operand. */
+	static final int LOOP = 22;
+	/** Repeats the innermost {@link Loop} at the first operand, or leaves it to the second. */
+	static final int LOOP_END = 23;
+	/** Starts a {@link ConditionalLoop} from the pool, whose condition gets lowered. */
+	static final int LOOP_START = 24;
+	/** bool -> Enters the next iteration of the innermost {@link ConditionalLoop}, or leaves it. */
+	static final int LOOP_TEST = 25;
+	/** Counts the iteration of the innermost {@link ConditionalLoop} and jumps to its test. */
+	static final int LOOP_NEXT = 26;
+	/** Reaches the end of the {@link Definition}. */
+	static final int END = 27;
+	/** Executes a {@link MainExpression} from the pool, that cannot be lowered. */
+	static final int EXEC = 28;
+	/** Traces the {@link MainExpression} from the pool in the debug-mode. */
+	static final int LINE = 29;
+	
+	/** The {@link Chunk} of every compiled {@link Definition}, indexed by its first line. */
+	private static Chunk[] chunks;
+	
+	/** Lowers every {@link Definition} in {@link Main#PROGRAM}. Gets called once before the execution. */
+	public static void compile() {
+		int defs = 0;
+		for (int i = 0; i < Main.PROGRAM.size(); i++) {
+			if (Main.PROGRAM.getLine(i).getMainExpression() instanceof Definition def && !(def instanceof NativeFunction)) {
+				compile(def);
+				defs++;
+			}
+		}
+		print("Compiled " + defs + " definitions to bytecode.");
+	}
+	
+	/**
+	 * Lowers the body of a single {@link Definition} into bytecode, so it can get run by
+	 * {@link #run(int)}.
+	 */
+	public static void compile(Definition def) {
+		if (chunks == null)
+			chunks = new Chunk[Main.PROGRAM.size()];
+		chunks[def.firstLine()] = lower(def);
+	}
+	
+	/** Returns the {@link Chunk} of a compiled {@link Definition}. */
+	static Chunk chunkOf(Definition def) {
+		if (chunks == null || chunks[def.firstLine()] == null)
+			compile(def);
+		return chunks[def.firstLine()];
+	}
+	
+	/** Lowers every line in the body of the {@link Definition}. */
+	private static Chunk lower(Definition def) {
+		Assembler asm = new Assembler(def.firstLine(), def.getEnd());
+		Map<ConditionalLoop, Integer> tests = new HashMap<>();
+		for (int i = def.firstLine(); i <= def.getEnd(); i++) {
+			asm.line(i);
+			MainExpression m = Main.PROGRAM.getLine(i).getMainExpression();
+			if (m instanceof ReturnStatement r)
+				r.lower(asm);
+			else if (m instanceof PossibleMainExpression p) {
+				asm.value((ValueHolder) p);
+				asm.pop();
+			} else if (m instanceof ConditionalStatement cs) {
+				if (cs.getCondition() == null)
+					asm.op(ENTER, 0);
+				else {
+					asm.value(cs.getCondition());
+					asm.op(BRANCH, -1);
+					asm.arg(asm.index(cs));
+					asm.lineArg(cs.falseCase());
+				}
+			} else if (m instanceof ConditionalLoop cl) {
+				asm.op(LOOP_START, 0);
+				asm.arg(asm.index(cl));
+				tests.put(cl, asm.here());
+				asm.value(cl.getCondition());
+				asm.op(LOOP_TEST, -1);
+				asm.arg(asm.index(cl));
+				asm.lineArg(cl.nextLine());
+			} else if (m instanceof Loop l) {
+				asm.op(LOOP, 0);
+				asm.arg(asm.index(l));
+				asm.lineArg(l.nextLine());
+			} else if (m instanceof CloseBlock cb)
+				lowerEnd(asm, cb, tests);
+			else if (!(m instanceof FlagSpace)) { // A FlagSpace falls through into its block
+				asm.op(EXEC, 0);
+				asm.arg(asm.index(m));
+			}
+		}
+		return asm.finish();
+	}
+	
+	/** Lowers a {@link CloseBlock}, based on the {@link BlockHolder} it closes. */
+	private static void lowerEnd(Assembler asm, CloseBlock cb, Map<ConditionalLoop, Integer> tests) {
+		MainExpression owner = Main.PROGRAM.getLine(cb.getMatch()).getMainExpression();
+		if (owner instanceof FlagSpace)
+			return; // Falls through to the next line
+		if (owner instanceof ConditionalStatement cs) {
+			asm.op(BRANCH_END, 0);
+			asm.lineArg(cs.afterBlock());
+		} else if (owner instanceof ConditionalLoop cl) {
+			asm.op(LOOP_NEXT, 0);
+			asm.arg(tests.get(cl));
+		} else if (owner instanceof Loop l) {
+			asm.op(LOOP_END, 0);
+			asm.lineArg(l.firstLine());
+			asm.lineArg(l.nextLine());
+		} else
+			asm.op(END, 0);
+	}
+	
+	/**
+	 * Runs the bytecode of a {@link Definition}, until its end or a {@link ReturnStatement} is
+	 * reached.
+	 *
+	 * @param entry is the first line of the {@link Definition}.
+	 * @return false if a {@link ReturnStatement} got triggered.
+	 *
+	 * @see Interpreter#run(int)
+	 */
+	public static boolean run(int entry) {
+		Chunk chunk = chunks[entry];
+		if (chunk == null)
+			throw new AssertionError("Line " + entry + " is no compiled entry.");
+		return run(chunk);
+	}
+	
+	/** Runs the instructions of a {@link Chunk} from the start. */
+	private static boolean run(Chunk chunk) {
+		final int[] code = chunk.code;
+		final Object[] pool = chunk.pool;
+		final Value[] stack = new Value[chunk.maxStack];
+		Deque<BlockFrame> loops = new ArrayDeque<>();
+		int sp = 0, pc = 0;
+		int scopes = 0; // Number of allocated scopes in this activation
+		while (true) {
+			switch (code[pc]) {
+				case CONST:
+					stack[sp++] = (Value) pool[code[pc + 1]];
+					pc += 2;
+					break;
+				case EVAL:
+					stack[sp++] = ((ValueHolder) pool[code[pc + 1]]).getValue();
+					pc += 2;
+					break;
+				case LOAD:
+					stack[sp++] = load((Name) pool[code[pc + 1]]);
+					pc += 2;
+					break;
+				case STORE:
+					store(stack[sp - 1], (Name) pool[code[pc + 1]]);
+					pc += 2;
+					break;
+				case BINARY:
+					sp--;
+					stack[sp - 1] = ((InfixOperator) pool[code[pc + 1]]).perform(stack[sp - 1], stack[sp]);
+					pc += 2;
+					break;
+				case BOOL:
+					stack[sp - 1] = bool(stack[sp - 1], (Expression) pool[code[pc + 1]]);
+					pc += 2;
+					break;
+				case DUP:
+					stack[sp] = stack[sp - 1];
+					sp++;
+					pc++;
+					break;
+				case POP:
+					stack[--sp] = null;
+					pc++;
+					break;
+				case JUMP:
+					pc = code[pc + 1];
+					break;
+				case JUMP_FALSE:
+					pc = ((BoolValue) stack[--sp]).value ? pc + 2 : code[pc + 1];
+					break;
+				case JUMP_TRUE:
+					pc = ((BoolValue) stack[--sp]).value ? code[pc + 1] : pc + 2;
+					break;
+				case CALL: {
+					sp -= code[pc + 2];
+					Value[] args = Arrays.copyOfRange(stack, sp, sp + code[pc + 2]);
+					stack[sp++] = ((Call) pool[code[pc + 1]]).callWith(args);
+					pc += 3;
+					break;
+				}
+				case ACCESS: {
+					sp -= code[pc + 2];
+					Value[] idxs = Arrays.copyOfRange(stack, sp, sp + code[pc + 2]);
+					stack[sp++] = ((ArrayAccess) pool[code[pc + 1]]).getAt(idxs);
+					pc += 3;
+					break;
+				}
+				case CAST:
+					stack[sp - 1] = ((ExplicitCast) pool[code[pc + 1]]).cast(stack[sp - 1]);
+					pc += 2;
+					break;
+				case UNARY:
+					stack[sp - 1] = ((PrefixOperator) pool[code[pc + 1]]).apply(stack[sp - 1]);
+					pc += 2;
+					break;
+				case DECLARE:
+					((Declaration) pool[code[pc + 1]]).declare(stack[sp - 1]);
+					pc += 2;
+					break;
+				case ASSIGN:
+					stack[sp - 1] = ((Assignment) pool[code[pc + 1]]).assign(stack[sp - 1]);
+					pc += 2;
+					break;
+				case RETURN:
+					if (code[pc + 1] >= 0)
+						((ReturnStatement) pool[code[pc + 1]]).returnValue(stack[--sp]);
+					free(scopes);
+					return false;
+				case TAIL_CALL: {
+					sp -= code[pc + 2];
+					Value[] args = Arrays.copyOfRange(stack, sp, sp + code[pc + 2]);
+					((Function) pool[code[pc + 1]]).rebind(args);
+					free(scopes);
+					scopes = 0;
+					loops.clear(); // A tail call restarts the body
+					pc = 0;
+					break;
+				}
+				case BRANCH:
+					if (branch(stack[--sp], (ConditionalStatement) pool[code[pc + 1]])) {
+						scopes++;
+						pc += 3;
+					} else
+						pc = code[pc + 2];
+					break;
+				case ENTER:
+					ScopeManager.STACK.allocate();
+					scopes++;
+					pc++;
+					break;
+				case BRANCH_END:
+					ScopeManager.STACK.free();
+					scopes--;
+					pc = code[pc + 1];
+					break;
+				case LOOP:
+					if (loop((Loop) pool[code[pc + 1]], loops)) {
+						scopes++;
+						pc += 3;
+					} else
+						pc = code[pc + 2];
+					break;
+				case LOOP_END:
+					if (repeat(loops))
+						pc = code[pc + 1];
+					else {
+						scopes--;
+						pc = code[pc + 2];
+					}
+					break;
+				case LOOP_START:
+					start((ConditionalLoop) pool[code[pc + 1]], loops);
+					scopes++;
+					pc += 2;
+					break;
+				case LOOP_TEST:
+					if (test(stack[--sp], loops))
+						pc += 3;
+					else {
+						scopes--;
+						pc = code[pc + 2];
+					}
+					break;
+				case LOOP_NEXT:
+					next(loops);
+					pc = code[pc + 1];
+					break;
+				case END:
+					return true;
+				case EXEC:
+					((MainExpression) pool[code[pc + 1]]).execute();
+					pc += 2;
+					break;
+				case LINE:
+					trace((MainExpression) pool[code[pc + 1]]);
+					pc += 2;
+					break;
+				default:
+					throw new AssertionError("Unknown opcode " + code[pc] + " at " + pc + ".");
+			}
+		}
+	}
+	
+	// The semantics of the instructions, that take more than a single call.
+	
+	/** Returns the value of a local. */
+	static Value load(Name n) {
+		Variable var = ScopeManager.STACK.local(n.getSlot());
+		return (var != null ? var : ScopeManager.getVar(n)).getValue();
+	}
+	
+	/** Assigns a value to a local. */
+	static void store(Value v, Name n) {
+		Variable var = ScopeManager.STACK.local(n.getSlot());
+		(var != null ? var : ScopeManager.getVar(n)).setValue(v);
+	}
+	
+	/** Casts a value to a {@link BoolValue}. */
+	static BoolValue bool(Value v, Expression at) {
+		try {
+			return v.asBool();
+		} catch (NonExpressionException e) {
+			throw new PseudocodeException(e, at.getBlueprintPath());
+		}
+	}
+	
+	/** Allocates the scope of a {@link ConditionalStatement}, if its condition is true. */
+	static boolean branch(Value cond, ConditionalStatement cs) {
+		if (!bool(cond, cs).value)
+			return false;
+		ScopeManager.STACK.allocate();
+		return true;
+	}
+	
+	/** Enters a {@link Loop} and pushes its {@link BlockFrame}, if it runs atleast once. */
+	static boolean loop(Loop l, Deque<BlockFrame> loops) {
+		ScopeManager.STACK.allocate();
+		BlockFrame frame = new BlockFrame(l);
+		if (l.enter(frame) == l.firstLine()) {
+			loops.push(frame);
+			return true;
+		}
+		ScopeManager.STACK.free();
+		return false;
+	}
+	
+	/** Tells, if the innermost {@link Loop} repeats. Otherwise it gets popped. */
+	static boolean repeat(Deque<BlockFrame> loops) {
+		BlockFrame frame = loops.peek();
+		if (frame.owner.leave(frame) == frame.owner.firstLine())
+			return true;
+		loops.pop();
+		ScopeManager.STACK.free();
+		return false;
+	}
+	
+	/** Starts a {@link ConditionalLoop}. Its condition gets tested by the next instructions. */
+	static void start(ConditionalLoop l, Deque<BlockFrame> loops) {
+		ScopeManager.STACK.allocate();
+		BlockFrame frame = new BlockFrame(l);
+		l.begin(frame);
+		loops.push(frame);
+	}
+	
+	/** Tells, if the innermost {@link ConditionalLoop} runs another iteration. Otherwise it gets popped. */
+	static boolean test(Value cond, Deque<BlockFrame> loops) {
+		BlockFrame frame = loops.peek();
+		ConditionalLoop l = (ConditionalLoop) frame.owner;
+		if (bool(cond, l).value == l.is(KeywordType.WHILE)) {
+			l.count(frame);
+			return true;
+		}
+		loops.pop();
+		ScopeManager.STACK.free();
+		return false;
+	}
+	
+	/** Counts the iteration of the innermost {@link Loop}. */
+	static void next(Deque<BlockFrame> loops) {
+		BlockFrame frame = loops.peek();
+		((Loop) frame.owner).step(frame);
+	}
+	
+	/** Frees the scopes, that an activation allocated. */
+	static void free(int scopes) {
+		for (; scopes > 0; scopes--)
+			ScopeManager.STACK.free();
+	}
+	
+	/** Prints a line in the debug-mode. */
+	static void trace(MainExpression m) {
+		print(m.getBlueprintPath() + ": " + m);
+	}
+}
@@ -0,0 +1,48 @@
+package interpreting.modules.merger;
+
+import java.util.*;
+
+import building.expressions.abstractions.interfaces.*;
+import errorhandeling.*;
+import interpreting.program.*;
+import runtime.datatypes.*;
+
+/**
+ * Evaluates side-effect-free constant subtrees of the merged program once and caches their
+ * {@link Value}s.
+ *
+ * The mergers register every {@link Foldable} that they build, and {@link #foldAll()} folds them
+ * after {@link Program#constructAndMerge()}.
+ */
+public final class ConstantFolder {
+	
+	/** All registered {@link Foldable}s, in the order they got merged. */
+	private static final List<Foldable> FOLDABLES = new ArrayList<>();
+	
+	/** Registers a merged {@link Foldable}, whose constant subtrees get folded after the merge. */
+	public static <T extends Foldable> T register(T f) {
+		FOLDABLES.add(f);
+		return f;
+	}
+	
+	/** Folds every registered {@link Foldable}. */
+	public static void foldAll() {
+		for (Foldable f : FOLDABLES)
+			f.fold();
+		FOLDABLES.clear();
+	}
+	
+	/**
+	 * Evaluates a constant {@link Foldable}.
+	 *
+	 * @return the {@link Value} or null, if the evaluation failed. In that case the expression stays
+	 * unfolded, so the {@link PseudocodeException} gets thrown at runtime, as usual.
+	 */
+	public static Value evaluate(Foldable f) {
+		try {
+			return f.getValue();
+		} catch (RuntimeException | AssertionError e) {
+			return null;
+		}
+	}
+}
@@ -57,6 +57,8 @@ public abstract class ExpressionMerger {
 		// Sets flags from overlying FlagSpaces
 		if (main instanceof Flaggable f)
 			collectFlags(f);
+		// Resolves the slots of the locals
+		SlotResolver.process(main);
 		return main;
 	}
 	
@@ -1,10 +1,12 @@
 package interpreting.modules.merger;
 
 import static building.types.abstractions.SuperType.*;
+import static building.types.specific.BuilderType.*;
 
 import java.util.*;
 
 import building.expressions.abstractions.interfaces.*;
+import building.expressions.normal.containers.*;
 import building.expressions.normal.operators.*;
 import building.expressions.normal.operators.infix.*;
 import building.expressions.normal.operators.postfix.*;
@@ -32,15 +34,81 @@ public abstract class OpMerger extends ValueMerger {
 	
 	// --------------------------------INFIX--------------------------------//
 	
-	/** [ValueHolder] ([Operator] [ValueHolder])... */
-	public static Operation buildOperation(ValueHolder fst) {
+	/**
+	 * [ValueHolder] ([Operator] [ValueHolder])...
+	 *
+	 * Any operand can be a range ([ValueHolder] [RANGE] [ValueHolder] (?[STEP] [ValueHolder])), whose
+	 * bounds bind the arithmetic operators next to them: 0 in a + 1..b * 2
+	 *
+	 * @return the {@link Operation}, or the {@link RangeExpression} if there is no operator.
+	 */
+	public static ValueHolder buildOperation(ValueHolder fst) {
 		List<Operatable> parts = new ArrayList<>();
 		parts.add(fst);
-		while (!line.isEmpty() && line.get(0).is(INFIX_OP_TYPE)) {
+		while (!line.isEmpty()) {
+			if (line.get(0).is(INFIX_OP_TYPE)) {
+				parts.add(buildInfix());
+				parts.add(buildVal(true));
+			} else if (isRange())
+				parts.add(buildRange(popArithmetic(parts)));
+			else
+				break;
+		}
+		if (parts.size() == 1)
+			return (ValueHolder) parts.get(0);
+		return ConstantFolder.register(new Operation(lineID, parts));
+	}
+	
+	/** Returns true, if the line continues with a range, that has an upper bound. */
+	static boolean isRange() {
+		return line.size() > 1 && line.get(0).is(RANGE) && !line.get(1).is(ARRAY_END);
+	}
+	
+	/** [RANGE] [ValueHolder] (?[STEP] [ValueHolder]) */
+	private static RangeExpression buildRange(ValueHolder from) {
+		line.remove(0); // Range
+		ValueHolder to = buildArithmetic();
+		ValueHolder step = null;
+		if (!line.isEmpty() && line.get(0).is(STEP)) {
+			line.remove(0); // Step
+			step = buildArithmetic();
+		}
+		return new RangeExpression(lineID, from, to, step);
+	}
+	
+	/** [ValueHolder] ([ArithmeticOperator] [ValueHolder])... */
+	private static ValueHolder buildArithmetic() {
+		List<Operatable> parts = new ArrayList<>();
+		parts.add(buildVal(true));
+		while (!line.isEmpty() && line.get(0).type instanceof InfixOpType t && isArithmetic(t)) {
 			parts.add(buildInfix());
 			parts.add(buildVal(true));
 		}
-		return new Operation(lineID, parts);
+		return toOperand(parts);
+	}
+	
+	/** Removes the trailing operands, that are only joined by arithmetic operators, and returns them. */
+	private static ValueHolder popArithmetic(List<Operatable> parts) {
+		int start = parts.size() - 1;
+		while (start > 0 && isArithmetic(((InfixOperator) parts.get(start - 1)).op))
+			start -= 2;
+		List<Operatable> tail = new ArrayList<>(parts.subList(start, parts.size()));
+		parts.subList(start, parts.size()).clear();
+		return toOperand(tail);
+	}
+	
+	/** Returns the single operand, or the {@link Operation} of the parts. */
+	private static ValueHolder toOperand(List<Operatable> parts) {
+		if (parts.size() == 1)
+			return (ValueHolder) parts.get(0);
+		return ConstantFolder.register(new Operation(lineID, parts));
+	}
+	
+	private static boolean isArithmetic(InfixOpType t) {
+		return switch (t) {
+			case ADD, SUB, MULT, DIV, MOD, POW, ROOT -> true;
+			default -> false;
+		};
 	}
 	
 	/** [INFIX_OPERATOR] */
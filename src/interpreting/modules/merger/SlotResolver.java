@@ -0,0 +1,83 @@
+package interpreting.modules.merger;
+
+import java.util.*;
+
+import building.expressions.abstractions.*;
+import building.expressions.abstractions.scopes.*;
+import building.expressions.main.*;
+import building.expressions.main.functions.*;
+import building.expressions.main.loops.*;
+import building.expressions.normal.containers.name.*;
+
+/**
+ * Resolves every local {@link Name} of a {@link Definition} to a slot in its {@link Frame} at merge
+ * time.
+ *
+ * The lexical scopes get tracked line by line, in the order of the merge. Names outside of a
+ * {@link Definition} (attributes, globals) and names that cannot be resolved keep the slot -1 and
+ * get looked up by their name at runtime.
+ */
+public final class SlotResolver {
+	
+	/** The lexical scopes of the current {@link Definition}, innermost on top. */
+	private static final Deque<Map<String, Integer>> SCOPES = new ArrayDeque<>();
+	
+	/** The {@link Definition} whose body gets merged right now. Null outside of a body. */
+	private static Definition currentDef = null;
+	
+	/** The next free slot in the {@link Frame} of {@link #currentDef}. */
+	private static int nextSlot = 0;
+	
+	/** The amount of scopes, that lie outside of {@link #currentDef}. */
+	private static int defDepth = 0;
+	
+	/** Gets called for every merged {@link MainExpression} and opens or closes its scope. */
+	static void process(MainExpression main) {
+		if (main instanceof NativeFunction)
+			return;
+		if (main instanceof Definition def) {
+			defDepth = SCOPES.size();
+			currentDef = def;
+			nextSlot = 0;
+			SCOPES.push(new HashMap<>());
+			if (def instanceof Function f) {
+				for (Name param : f.getParamNames())
+					declare(param);
+			}
+		} else if (main instanceof BlockHolder) {
+			SCOPES.push(new HashMap<>());
+			if (main instanceof ForEachLoop fel)
+				declare(fel.getElemName());
+			else if (main instanceof Loop l && l.getAlias() != null)
+				declare(l.getAlias());
+		} else if (main instanceof CloseBlock) {
+			SCOPES.pop();
+			if (currentDef != null && SCOPES.size() == defDepth) {
+				currentDef.setFrameSize(nextSlot);
+				currentDef = null;
+			}
+		}
+	}
+	
+	/** Gives a newly declared local {@link Name} the next free slot. */
+	static void declare(Name name) {
+		if (currentDef == null)
+			return;
+		SCOPES.peek().put(name.getNameString(), nextSlot);
+		name.setSlot(nextSlot++);
+	}
+	
+	/** Gives a used {@link Name} the slot of its innermost declaration, if there is one. */
+	static void resolve(Name name) {
+		if (currentDef == null)
+			return;
+		Iterator<Map<String, Integer>> it = SCOPES.iterator();
+		for (int i = SCOPES.size(); i > defDepth && it.hasNext(); i--) {
+			Integer slot = it.next().get(name.getNameString());
+			if (slot != null) {
+				name.setSlot(slot);
+				return;
+			}
+		}
+	}
+}
@@ -98,7 +98,7 @@ public abstract class SuperMerger extends ExpressionMerger {
 			if (line.get(0).is(POSTFIX_OP_TYPE))
 				result = OpMerger.buildPostfix(result);
 			if (!line.isEmpty()) { // Second check, if first if comes through
-				if (!inOperation && line.get(0).is(INFIX_OP_TYPE))
+				if (!inOperation && (line.get(0).is(INFIX_OP_TYPE) || OpMerger.isRange()))
 					result = OpMerger.buildOperation(result);
 				else if (line.get(0).is(IS))
 					result = ValueMerger.buildIsStatement(result);
@@ -173,6 +173,8 @@ public abstract class SuperMerger extends ExpressionMerger {
 					"Expected the name for a constant (uppercase letters with underscores) but got \"" + res + "\".", //
 					path);
 		}
+		if (res instanceof VarName)
+			SlotResolver.resolve(res);
 		return (T) res;
 	}
 	
@@ -219,18 +221,18 @@ public abstract class SuperMerger extends ExpressionMerger {
 	private static Range buildRange() {
 		try {
 			if (line.get(0).is(LITERAL)) {
-				int lower = MathHelper.valToInt(buildVal());
+				int lower = MathHelper.valToInt(buildVal(true));
 				if (line.get(0).is(RANGE)) {
 					line.remove(0);
 					if (line.get(0).is(LITERAL))
-						return Range.intervalBound(lower, MathHelper.valToInt(buildVal()));
+						return Range.intervalBound(lower, MathHelper.valToInt(buildVal(true)));
 					return Range.lowerBound(lower);
 				}
 				return Range.exact(lower);
 			} else if (line.get(0).is(RANGE)) {
 				line.remove(0);
 				if (line.get(0).is(LITERAL))
-					return Range.upperBound(MathHelper.valToInt(buildVal()));
+					return Range.upperBound(MathHelper.valToInt(buildVal(true)));
 				throw new PseudocodeException("IllegalCodeFormatException",
 						"Range-Symbol \"..\" has to be surrounded by atleast one integer-literal.", path);
 			}
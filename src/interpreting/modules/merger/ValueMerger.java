@@ -8,6 +8,7 @@ import java.util.*;
 import building.expressions.abstractions.interfaces.*;
 import building.expressions.main.blueprints.*;
 import building.expressions.main.statements.*;
+import building.expressions.normal.*;
 import building.expressions.normal.brackets.*;
 import building.expressions.normal.casting.*;
 import building.expressions.normal.containers.*;
@@ -34,26 +35,67 @@ public abstract class ValueMerger extends SuperMerger {
 	}
 	
 	/* [OPEN_SQUARE] [?PARAM] [?COMMA] [?PARAM] [CLOSE_SQUARE] */
-	public static Literal buildArrayLiteral() {
-		return new Literal(lineID, buildParts());
+	public static ValueHolder buildArrayLiteral() {
+		if (isDictLiteral())
+			return buildDictLiteral();
+		return ConstantFolder.register(new Literal(lineID, buildParts()));
 	}
 	
-	/** [NAME] [ARRAY_START] [VAL_HOLDER] [ARRAY_END] ?([ARRAY_START] [VAL_HOLDER] [ARRAY_END])... */
+	/** [ARRAY_START] [VAL_HOLDER] [ARROW_R] [VAL_HOLDER] ?([COMMA] [VAL_HOLDER] [ARROW_R] [VAL_HOLDER])... [ARRAY_END] */
+	private static DictLiteral buildDictLiteral() {
+		List<ValueHolder> keys = new ArrayList<>(), vals = new ArrayList<>();
+		line.remove(0); // ArrayStart
+		do {
+			keys.add(buildVal());
+			if (!line.remove(0).is(ARROW_R))
+				throw new PseudocodeException("IllegalCodeFormat", "Every key in a dict-literal needs a value after \"" + ARROW_R + "\".", path);
+			vals.add(buildVal());
+		} while (line.remove(0).is(COMMA));
+		return new DictLiteral(lineID, keys.toArray(new ValueHolder[keys.size()]), vals.toArray(new ValueHolder[vals.size()]));
+	}
+	
+	/** Tells, if the array-literal at the start of the line has an {@link BuilderType#ARROW_R} on its top-level. */
+	private static boolean isDictLiteral() {
+		int depth = 0;
+		for (BuilderExpression e : line) {
+			if (e.is(ARRAY_START) || e.is(OPEN_BRACKET))
+				depth++;
+			else if ((e.is(ARRAY_END) || e.is(CLOSE_BRACKET)) && --depth == 0)
+				return false;
+			else if (depth == 1 && e.is(ARROW_R))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * [NAME] [ARRAY_START] [VAL_HOLDER] [ARRAY_END] ?([ARRAY_START] [VAL_HOLDER] [ARRAY_END])...
+	 *
+	 * The last index can be a slice: [ARRAY_START] [?VAL_HOLDER] [RANGE] [?VAL_HOLDER] [ARRAY_END]
+	 */
 	public static ArrayAccess buildArrayAccess() {
 		Name target = buildName(VarName.class);
 		List<ValueHolder> parts = new ArrayList<>();
-		while (!line.isEmpty() && line.get(0).is(ARRAY_START)) {
+		Slice slice = null;
+		while (slice == null && !line.isEmpty() && line.get(0).is(ARRAY_START)) {
 			line.remove(0);// ArrayStart
-			parts.add(buildVal()); // INDEX
+			ValueHolder idx = line.get(0).is(RANGE) ? null : buildVal(); // INDEX
+			if (idx instanceof RangeExpression r)
+				slice = r.toSlice();
+			else if (line.get(0).is(RANGE)) {
+				line.remove(0); // Range
+				slice = new Slice(idx, line.get(0).is(ARRAY_END) ? null : buildVal());
+			} else
+				parts.add(idx);
 			line.remove(0);// ArrayEnd
 		}
-		return new ArrayAccess(lineID, target, parts);
+		return new ArrayAccess(lineID, target, parts, slice);
 	}
 	
 	/** [OPEN_BRACK] [VALUE/OPERATION] [CLOSE_BRACK] */
 	public static BracketedExpression buildBracketedExpression() {
 		line.remove(0); // OPEN_BRACK
-		BracketedExpression b = new BracketedExpression(lineID, buildVal());
+		BracketedExpression b = ConstantFolder.register(new BracketedExpression(lineID, buildVal()));
 		line.remove(0); // CLOSE_BRACK
 		return b;
 	}
@@ -91,6 +133,7 @@ public abstract class ValueMerger extends SuperMerger {
 			throw new PseudocodeException("Declaration", //
 					"An initial declaration can only utilise the normal assignment operator \"" + AssignmentType.NORMAL + "\".", //
 					path);
+		SlotResolver.declare(name);
 		return new Declaration(lineID, type, name, vH);
 	}
 	
@@ -99,6 +142,6 @@ public abstract class ValueMerger extends SuperMerger {
 		line.remove(0);
 		DataType t = buildExpType();
 		line.remove(0);
-		return new ExplicitCast(lineID, t, buildVal());
+		return ConstantFolder.register(new ExplicitCast(lineID, t, buildVal()));
 	}
 }
@@ -5,6 +5,7 @@ import java.util.stream.*;
 
 import importing.filedata.paths.*;
 import interpreting.modules.interpreter.*;
+import interpreting.modules.merger.*;
 
 public final class Program implements Iterable<ProgramLine> {
 	
@@ -40,6 +41,9 @@ public final class Program implements Iterable<ProgramLine> {
 		// Merge to Expressions
 		for (ProgramLine line : program)
 			line.merge();
+		
+		// Evaluate constant expressions once
+		ConstantFolder.foldAll();
 	}
 	
 	/**
@@ -6,12 +6,16 @@ import java.io.*;
 import java.nio.file.*;
 import java.util.*;
 
+import building.expressions.main.functions.*;
+import building.types.specific.*;
 import errorhandeling.*;
 import importing.filedata.File;
 import interpreting.modules.interpreter.*;
 import interpreting.modules.parser.*;
 import interpreting.program.*;
 import misc.supporting.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.numerical.*;
 
 /**
  * The starting point for the Interpreter.
@@ -25,6 +29,12 @@ public abstract class Main {
 	public static String libPath, launchPath;
 	private static boolean jStacktrace = false;
 	private static int formatterLvl = 5;
+	private static Engine engine = Engine.TREE;
+	private static int jitThreshold = 1000;
+	private static int memoCapacity = 10000;
+	private static Eviction memoEviction = Eviction.LRU;
+	private static Numeric numeric = Numeric.EXACT;
+	private static boolean parallelPipelines = false;
 	
 	public static void main(String[] args) {
 		//@formatter:off
@@ -110,6 +120,18 @@ public abstract class Main {
 				jStacktrace = true;
 			} else if (flag.matches("--formatter-lvl:\\d")) {
 				formatterLvl = Character.getNumericValue(flag.charAt(flag.length() - 1));
+			} else if (flag.matches("--engine=\\w+")) {
+				engine = Engine.fromFlag(flag.substring(flag.indexOf('=') + 1));
+			} else if (flag.matches("--jit-threshold=\\d+")) {
+				jitThreshold = Integer.parseInt(flag.substring(flag.indexOf('=') + 1));
+			} else if (flag.matches("--memo-capacity=\\d+")) {
+				memoCapacity = Integer.parseInt(flag.substring(flag.indexOf('=') + 1));
+			} else if (flag.matches("--memo-eviction=\\w+")) {
+				memoEviction = Eviction.fromFlag(flag.substring(flag.indexOf('=') + 1));
+			} else if (flag.matches("--numeric=\\w+")) {
+				numeric = Numeric.fromFlag(flag.substring(flag.indexOf('=') + 1));
+			} else if ("--parallel-pipelines".equals(flag)) {
+				parallelPipelines = true;
 			} else if (justFormatting && "--force".equals(flag)) {
 				force = true;
 			} else
@@ -134,4 +156,51 @@ public abstract class Main {
 	public static boolean showJStacktrace() {
 		return jStacktrace;
 	}
+	
+	/**
+	 * Returns the {@link Engine} that executes the program.
+	 *
+	 * Default: {@link Engine#TREE}
+	 */
+	public static Engine getEngine() { return engine; }
+	
+	/**
+	 * Returns the number of calls, after which a function gets compiled to JVM-bytecode. 0 disables the
+	 * compilation of hot functions.
+	 *
+	 * Default: 1000
+	 */
+	public static int getJitThreshold() { return jitThreshold; }
+	
+	/**
+	 * Returns the maximum amount of cached return-values per {@link FlagType#PURE} function.
+	 *
+	 * Default: 10000
+	 */
+	public static int getMemoCapacity() { return memoCapacity; }
+	
+	/**
+	 * Returns the {@link Eviction} of full {@link MemoCache}s.
+	 *
+	 * Default: {@link Eviction#LRU}
+	 */
+	public static Eviction getMemoEviction() { return memoEviction; }
+	
+	/**
+	 * Returns the representation of non-integer numbers.
+	 *
+	 * Default: {@link Numeric#EXACT}
+	 */
+	public static Numeric getNumeric() { return numeric; }
+	
+	/** Sets the representation of non-integer numbers, like the flag --numeric does. */
+	public static void setNumeric(Numeric numeric) { Main.numeric = numeric; }
+	
+	/**
+	 * Tells, if long reductions of a {@link Pipeline}, that run no code of the program, use the common
+	 * ForkJoinPool.
+	 *
+	 * Default: false
+	 */
+	public static boolean usesParallelPipelines() { return parallelPipelines; }
 }
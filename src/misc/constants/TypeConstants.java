@@ -19,6 +19,7 @@ public abstract class TypeConstants {
 	public static final DataType NR   = new DataType(SingleType.NR,   true);
 	public static final DataType INT  = new DataType(SingleType.INT,  true);
 	public static final DataType BOOL = new DataType(SingleType.BOOL, true);
+	public static final DataType SET  = new DataType(SingleType.SET,  true);
 
 	// Nullable-Arrays of unbound length
 	public static final DataType VAR_ARR  = new DataType(SingleType.VAR,  true, Range.UNBOUNDED);
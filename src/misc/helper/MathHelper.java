@@ -30,6 +30,6 @@ public class MathHelper {
 	 * @throws ArithmeticException if val is too big for int.
 	 */
 	public static int valToInt(ValueHolder val) throws NonExpressionException, ArithmeticException {
-		return val.asInt().raw().intValueExact();
+		return val.asInt().intValueExact();
 	}
 }
@@ -405,7 +405,7 @@ public final class ProgramHelper {
 	 * @return the number of runnable matches.
 	 */
 	public static int runnableMatches(String line, String regex) {
-		return getAllRunnable(line, regex).size();
+		return (int) Pattern.compile(regex).matcher(line).results().filter(mRes -> isRunnableCode(mRes.start(), line)).count();
 	}
 	
 	/**
@@ -0,0 +1,76 @@
+package misc.tests.loops;
+
+import org.junit.jupiter.api.*;
+
+import building.expressions.abstractions.interfaces.*;
+import building.expressions.main.loops.*;
+import building.expressions.normal.containers.name.*;
+import building.types.specific.*;
+import interpreting.modules.interpreter.*;
+import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.numerical.*;
+
+/**
+ * Enters the same loop twice before the first activation ends, like a recursive call from its body
+ * does.
+ */
+public class LoopTests {
+	
+	@Test
+	void testRecursiveInterval() {
+		Value[] bound = { IntValue.valueOf(4) };
+		Repeat loop = new Repeat(() -> bound[0]);
+		BlockFrame outer = new BlockFrame(loop), inner = new BlockFrame(loop);
+		loop.init(outer);
+		bound[0] = IntValue.valueOf(2);
+		loop.init(inner);
+		for (inner.iteration = inner.start; loop.cont(inner); inner.iteration = inner.iteration.add(inner.inc));
+		assert inner.iteration.equals(IntValue.valueOf(2));
+		// The outer activation still runs to its own end
+		int n = 0;
+		for (outer.iteration = outer.start; loop.cont(outer); outer.iteration = outer.iteration.add(outer.inc))
+			n++;
+		assert n == 4;
+	}
+	
+	@Test
+	void testRecursiveForEach() {
+		Value[] arr = { ArrayValue.newInstance(new Value[] { IntValue.valueOf(20), IntValue.valueOf(21) }) };
+		ForEach loop = new ForEach(() -> arr[0]);
+		BlockFrame outer = new BlockFrame(loop), inner = new BlockFrame(loop);
+		loop.init(outer);
+		arr[0] = ArrayValue.newInstance(new Value[] { IntValue.valueOf(10) });
+		loop.init(inner);
+		assert outer.array.length() == 2;
+		assert inner.array.length() == 1;
+	}
+	
+	/** A repeat-loop, whose head can be run without a program around it. */
+	private static class Repeat extends IntervalLoop {
+		
+		Repeat(ValueHolder end) {
+			super(0, KeywordType.REPEAT, NumberValue.ZERO, end, NumberValue.ONE, null, null);
+		}
+		
+		void init(BlockFrame frame) {
+			initLoop(frame);
+		}
+		
+		boolean cont(BlockFrame frame) {
+			return doContinue(frame);
+		}
+	}
+	
+	/** A for-each-loop, whose head can be run without a program around it. */
+	private static class ForEach extends ForEachLoop {
+		
+		ForEach(ValueHolder array) {
+			super(0, Name.generateName(0, "x"), array, null);
+		}
+		
+		void init(BlockFrame frame) {
+			initLoop(frame);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package misc.tests.value;
+
+import static building.expressions.abstractions.Range.*;
+import static building.types.specific.datatypes.SingleType.*;
+
+import java.math.*;
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+import building.types.specific.datatypes.*;
+import errorhandeling.*;
+import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.numerical.*;
+import runtime.datatypes.textual.*;
+
+public class ArrayValueTests {
+	
+	@Test
+	void testStorage() throws NonExpressionException {
+		// Int, with one element beyond a long
+		IntValue big = IntValue.valueOf(BigInteger.TWO.pow(100));
+		ArrayValue ints = new ArrayValue(new DataType(INT, false, UNBOUNDED), IntValue.valueOf(-3), big, NumberValue.ZERO);
+		assert ints.length() == 3;
+		assert ints.get(0).equals(IntValue.valueOf(-3)) && ints.get(1).equals(big) && ints.get(2) == NumberValue.ZERO;
+		
+		// Bool
+		ArrayValue bools = new ArrayValue(new DataType(BOOL, false, UNBOUNDED), BoolValue.FALSE, BoolValue.TRUE);
+		assert bools.get(0) == BoolValue.FALSE && bools.get(1) == BoolValue.TRUE;
+		
+		// Char
+		ArrayValue chars = new ArrayValue(new DataType(CHAR, false, UNBOUNDED), new CharValue('a'), new CharValue('b'));
+		assert chars.toString().equals("[a, b]");
+		
+		// Casting keeps the values
+		ArrayValue vars = (ArrayValue) ints.as(new DataType(VAR, true, UNBOUNDED));
+		assert vars.valueCompare(ints) && vars.valueHash() == ints.valueHash();
+	}
+	
+	@Test
+	void testGrid() throws NonExpressionException {
+		ArrayValue row = new ArrayValue(new DataType(INT, false, exact(2)), IntValue.valueOf(1), IntValue.valueOf(2));
+		ArrayValue grid = new ArrayValue(new DataType(INT, false, UNBOUNDED, exact(2)), row, row);
+		assert grid.get(new int[] {1, 1}).equals(IntValue.valueOf(2));
+		// Rows are views on the same elements
+		ArrayValue view = (ArrayValue) grid.get(0);
+		assert view.length() == 2 && view.valueCompare(row);
+		assert grid.toString().equals("[[1, 2], [1, 2]]");
+	}
+	
+	@Test
+	void testAppend() throws NonExpressionException {
+		ArrayValue a = ArrayValue.newInstance(IntValue.valueOf(1));
+		ArrayValue b = a.append(IntValue.valueOf(2));
+		ArrayValue c = a.append(IntValue.valueOf(3)); // a is no longer the longest array
+		ArrayValue d = b.prepend(NumberValue.ZERO);
+		assert a.toString().equals("[1]") && b.toString().equals("[1, 2]") && c.toString().equals("[1, 3]");
+		assert d.toString().equals("[0, 1, 2]");
+		// Growing an int-array beyond a long
+		ArrayValue ints = new ArrayValue(new DataType(INT, false, UNBOUNDED));
+		for (int i = 0; i < 20; i++)
+			ints = ints.append(IntValue.valueOf(i));
+		ArrayValue grown = ints.append(IntValue.valueOf(BigInteger.TEN.pow(30)));
+		assert ints.length() == 20 && grown.length() == 21 && grown.get(20).equals(IntValue.valueOf(BigInteger.TEN.pow(30)));
+	}
+	
+	@Test
+	void testCopyOnWrite() throws NonExpressionException {
+		DataType type = new DataType(INT, false, UNBOUNDED);
+		ArrayValue a = new ArrayValue(type, IntValue.valueOf(1), IntValue.valueOf(2));
+		ArrayValue b = (ArrayValue) a.as(type);
+		b.set(IntValue.valueOf(9), "b", null, 0);
+		a.set(IntValue.valueOf(7), "a", null, 1);
+		assert a.toString().equals("[1, 7]") && b.toString().equals("[9, 2]");
+	}
+	
+	@Test
+	void testSlice() throws NonExpressionException {
+		DataType type = new DataType(INT, false, UNBOUNDED);
+		ArrayValue a = new ArrayValue(type, IntValue.valueOf(1), IntValue.valueOf(2), IntValue.valueOf(3), IntValue.valueOf(4));
+		ArrayValue s = a.slice(1, 3);
+		assert s.toString().equals("[2, 3]") && s.slice(1, 2).toString().equals("[3]");
+		s.set(IntValue.valueOf(9), "s", null, 0);
+		a.set(IntValue.valueOf(8), "a", null, 2);
+		assert a.toString().equals("[1, 2, 8, 4]") && s.toString().equals("[9, 3]");
+		assert a.slice(4, 4).length() == 0;
+	}
+	
+	@Test
+	void testNestedCopyOnWrite() throws NonExpressionException {
+		DataType row = new DataType(INT, false, UNBOUNDED), type = new DataType(INT, false, UNBOUNDED, UNBOUNDED);
+		ArrayValue a = new ArrayValue(type, new ArrayValue(row, IntValue.valueOf(1), IntValue.valueOf(2)),
+				new ArrayValue(row, IntValue.valueOf(3), IntValue.valueOf(4)));
+		ArrayValue b = (ArrayValue) a.as(type);
+		b.set(IntValue.valueOf(9), "b", null, new int[] {0, 0});
+		assert a.toString().equals("[[1, 2], [3, 4]]") && b.toString().equals("[[9, 2], [3, 4]]");
+		// The sub-arrays of a slice
+		ArrayValue s = a.slice(0, 1);
+		s.set(IntValue.valueOf(6), "s", null, new int[] {0, 1});
+		a.set(IntValue.valueOf(5), "a", null, new int[] {1, 0});
+		assert a.toString().equals("[[1, 2], [5, 4]]") && s.toString().equals("[[1, 6]]");
+		assert b.toString().equals("[[9, 2], [3, 4]]");
+	}
+	
+	@Test
+	void testRange() throws NonExpressionException {
+		ArrayValue r = ArrayValue.range(10, 1, -3);
+		assert r.toString().equals("[10, 7, 4, 1]") && r.slice(1, 3).toString().equals("[7, 4]");
+		assert r.contains(IntValue.valueOf(4)).value && !r.contains(IntValue.valueOf(5)).value;
+		assert ArrayValue.range(5, 4, 1).length() == 0;
+		ArrayValue big = ArrayValue.range(0, Integer.MAX_VALUE - 1L, 1);
+		assert big.contains(IntValue.valueOf(123456789)).value && big.get(99).equals(IntValue.valueOf(99));
+		r.set(IntValue.valueOf(-1), "r", null, 0);
+		assert r.toString().equals("[-1, 7, 4, 1]");
+		assert ArrayValue.range(1, 3, 1).as(new DataType(INT, false, UNBOUNDED)).toString().equals("[1, 2, 3]");
+	}
+	
+	@Test
+	void testPipeline() throws NonExpressionException {
+		int[] calls = {0};
+		Pipeline p = Pipeline.of(ArrayValue.range(1, 1000, 1)).map(v -> {
+			calls[0]++;
+			return ((IntValue) v).mult((IntValue) v);
+		});
+		ArrayValue firstThree = p.take(3).toArray();
+		assert calls[0] == 0 : "Stages run lazily.";
+		assert firstThree.toString().equals("[1, 4, 9]") && calls[0] == 3;
+		assert p.filter(v -> ((IntValue) v).isOdd()).count() == 500;
+		assert Pipeline.of(firstThree).reduce(NumberValue.ZERO, (a, b) -> ((NumberValue) a).add((NumberValue) b), true)
+				.equals(IntValue.valueOf(14));
+		// The result keeps the pulled elements
+		calls[0] = 0;
+		ArrayValue squares = p.toArray();
+		assert Pipeline.of(squares).take(2).count() == 2 && calls[0] == 2;
+		assert Pipeline.of(squares).count() == 1000 && calls[0] == 1000;
+		assert Pipeline.of(squares).reduce(NumberValue.ZERO, (a, b) -> ((NumberValue) a).add((NumberValue) b), true)
+				.equals(IntValue.valueOf(333833500)) && calls[0] == 1000;
+	}
+	
+	@Test
+	void testSort() throws NonExpressionException {
+		assert ArrayValue.range(5, 1, -1).sorted().toString().equals("[1, 2, 3, 4, 5]");
+		ArrayValue ints = new ArrayValue(new DataType(INT, false, UNBOUNDED), IntValue.valueOf(3), IntValue.valueOf(-1), IntValue.valueOf(2));
+		assert ints.sorted().toString().equals("[-1, 2, 3]") && ints.toString().equals("[3, -1, 2]");
+		ArrayValue texts = new ArrayValue(new DataType(TEXT, false, UNBOUNDED), new TextValue("b"), new TextValue("a"), new TextValue("c"));
+		assert texts.sorted(Comparator.comparing((Value v) -> v.asText().raw()).reversed()).toString().equals("[c, b, a]");
+	}
+	
+	@Test
+	void testIndex() throws NonExpressionException {
+		ArrayValue a = new ArrayValue(new DataType(TEXT, false, UNBOUNDED), ArrayValue.range(1, 20, 1).raw());
+		for (int i = 0; i < 10; i++)
+			assert a.contains(new TextValue("20")).value && !a.contains(new TextValue("21")).value;
+		assert a.contains(IntValue.valueOf(20)).value : "A number matches a text, like without the index.";
+		a.set(new TextValue("21"), "a", null, 19);
+		assert a.contains(new TextValue("21")).value && !a.contains(new TextValue("20")).value;
+	}
+}
@@ -0,0 +1,53 @@
+package misc.tests.value;
+
+import java.math.*;
+
+import org.junit.jupiter.api.*;
+
+import runtime.datatypes.numerical.*;
+
+public class DecimalValueTests {
+	
+	@Test
+	void testOverflow() {
+		BigInteger bigMax = BigInteger.valueOf(Long.MAX_VALUE);
+		NumberValue a = NumberValue.ONE.div(IntValue.valueOf(Long.MAX_VALUE));
+		assert a instanceof DecimalValue;
+		// Promotion into BigIntegers
+		assert a.mult(a).equals(NumberValue.create(BigInteger.ONE, bigMax.multiply(bigMax)));
+		assert a.add(a).equals(NumberValue.create(BigInteger.TWO, bigMax));
+		assert a.sub(NumberValue.create(BigInteger.ONE, bigMax.add(BigInteger.ONE)))
+				.equals(NumberValue.create(BigInteger.ONE, bigMax.multiply(bigMax.add(BigInteger.ONE))));
+		// Back into longs
+		assert a.mult(a).mult(IntValue.valueOf(Long.MAX_VALUE)).equals(a);
+		assert a.add(a).sub(a).equals(a);
+		assert a.mult(IntValue.valueOf(Long.MAX_VALUE)) == NumberValue.ONE;
+	}
+	
+	@Test
+	void testReduction() {
+		NumberValue half = NumberValue.ONE.div(IntValue.valueOf(2));
+		NumberValue unreduced = IntValue.valueOf(6).div(IntValue.valueOf(12));
+		assert unreduced.equals(half);
+		assert unreduced.valueHash() == half.valueHash();
+		assert unreduced.toString().equals("0.5");
+		assert ((DecimalValue) unreduced).asRational().equals("1/2");
+		// An unreduced fraction in BigIntegers, that reduces into longs
+		BigInteger big = BigInteger.ONE.shiftLeft(70);
+		NumberValue third = NumberValue.create(big, big.multiply(BigInteger.valueOf(3)));
+		assert third.equals(NumberValue.ONE.div(IntValue.valueOf(3)));
+		assert third.valueHash() == NumberValue.ONE.div(IntValue.valueOf(3)).valueHash();
+		assert third.toString().equals("0.(3)");
+		assert ((DecimalValue) third).asRational().equals("1/3");
+	}
+	
+	@Test
+	void testEquality() {
+		NumberValue a = IntValue.valueOf(-7).div(IntValue.valueOf(4));
+		assert a.equals(NumberValue.create(BigInteger.valueOf(7), BigInteger.valueOf(-4)));
+		assert a.equals(NumberValue.create(BigDecimal.valueOf(-1.75)));
+		assert !a.equals(NumberValue.create(BigInteger.valueOf(7), BigInteger.valueOf(4)));
+		assert a.negate().equals(NumberValue.create(BigInteger.valueOf(7), BigInteger.valueOf(4)));
+		assert a.mult(IntValue.valueOf(4)).equals(IntValue.valueOf(-7));
+	}
+}
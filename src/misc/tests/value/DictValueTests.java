@@ -0,0 +1,49 @@
+package misc.tests.value;
+
+import static building.types.specific.datatypes.SingleType.*;
+
+import java.math.*;
+
+import org.junit.jupiter.api.*;
+
+import building.types.specific.datatypes.*;
+import errorhandeling.*;
+import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.dict.*;
+import runtime.datatypes.numerical.*;
+import runtime.datatypes.textual.*;
+
+public class DictValueTests {
+	
+	@Test
+	void testKeys() throws NonExpressionException {
+		DictValue d = new DictValue();
+		for (int i = 0; i < 1000; i++)
+			d.put(IntValue.valueOf(i), new TextValue("v" + i));
+		assert d.size() == 1000 && d.get(IntValue.valueOf(999)).valueCompare(new TextValue("v999"));
+		// Equal numbers are the same key, equal texts of other types aren't.
+		assert d.get(NumberValue.create(BigDecimal.valueOf(7))).valueCompare(new TextValue("v7"));
+		assert d.get(new TextValue("7")) == null;
+		assert d.put(IntValue.valueOf(7), BoolValue.TRUE).valueCompare(new TextValue("v7")) && d.size() == 1000;
+		assert d.keys().get(7).valueCompare(IntValue.valueOf(7)) : "The keys keep their order.";
+	}
+	
+	@Test
+	void testCopyOnWrite() throws NonExpressionException {
+		DictValue d = DictValue.of(new Value[] {new CharValue('a')}, new Value[] {NumberValue.ONE});
+		DictValue copy = (DictValue) d.as(new DataType(DICT, false));
+		copy.put(new CharValue('b'), NumberValue.ZERO);
+		assert d.size() == 1 && copy.size() == 2 && !d.valueCompare(copy);
+		assert d.asText().raw().equals("[a -> 1]");
+	}
+	
+	@Test
+	void testSet() throws NonExpressionException {
+		SetValue a = SetValue.of(ArrayValue.range(1, 6, 1)), b = SetValue.of(ArrayValue.range(4, 9, 1));
+		assert a.union(b).size() == 9 && a.union(b).toString().equals("[1, 2, 3, 4, 5, 6, 7, 8, 9]");
+		assert a.intersection(b).toString().equals("[4, 5, 6]");
+		assert a.difference(b).toString().equals("[1, 2, 3]");
+		assert a.contains(NumberValue.create(BigDecimal.valueOf(3))).value && !a.contains(new TextValue("3")).value;
+	}
+}
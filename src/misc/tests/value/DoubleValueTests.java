@@ -0,0 +1,52 @@
+package misc.tests.value;
+
+import static runtime.datatypes.numerical.ConceptualNrValue.*;
+
+import org.junit.jupiter.api.*;
+
+import launching.*;
+import runtime.datatypes.numerical.*;
+
+public class DoubleValueTests {
+	
+	@Test
+	void testCreate() {
+		assert NumberValue.create(0.5) instanceof DoubleValue;
+		assert NumberValue.create(2.0).equals(IntValue.valueOf(2));
+		assert NumberValue.create(0x1p70) instanceof IntValue;
+		// NaN and the infinities
+		assert NumberValue.create(Double.NaN) == NAN;
+		assert NumberValue.create(Double.POSITIVE_INFINITY) == POS_INF;
+		assert NumberValue.create(Double.NEGATIVE_INFINITY) == NEG_INF;
+	}
+	
+	@Test
+	void testArithmetic() {
+		NumberValue half = NumberValue.create(0.5), quarter = NumberValue.create(0.25);
+		assert half.add(quarter).equals(NumberValue.create(0.75));
+		assert half.add(half).equals(NumberValue.ONE);
+		assert half.mult(IntValue.valueOf(4)).equals(IntValue.valueOf(2));
+		assert half.div(NumberValue.ZERO) == NAN;
+		assert half.mod(NumberValue.ZERO) == NAN;
+		assert half.pow(IntValue.valueOf(-1)).equals(IntValue.valueOf(2));
+		NumberValue tiny = NumberValue.create(1e-320);
+		assert half.div(tiny) == POS_INF;
+		assert half.negate().div(tiny) == NEG_INF;
+		assert NumberValue.create(-0.5).pow(half) == NAN;
+	}
+	
+	@Test
+	void testIntDivision() {
+		Numeric prev = Main.getNumeric();
+		Main.setNumeric(Numeric.FAST);
+		try {
+			IntValue one = IntValue.valueOf(1), three = IntValue.valueOf(3);
+			assert one.div(three) instanceof DoubleValue d && d.value == 1.0 / 3;
+			assert IntValue.valueOf(-6).div(three).equals(IntValue.valueOf(-2));
+			assert IntValue.valueOf(Long.MIN_VALUE).div(NumberValue.NEG_ONE).raw().equals(IntValue.valueOf(Long.MIN_VALUE).negate().raw());
+			assert one.div(NumberValue.ZERO) == NAN;
+		} finally {
+			Main.setNumeric(prev);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package misc.tests.value;
+
+import java.math.*;
+
+import org.junit.jupiter.api.*;
+
+import runtime.datatypes.numerical.*;
+
+public class IntValueTests {
+	
+	@Test
+	void testCache() {
+		assert IntValue.valueOf(7) == IntValue.valueOf(7);
+		assert IntValue.valueOf(BigInteger.ZERO) == NumberValue.ZERO;
+		assert IntValue.valueOf(1L << 40).equals(new IntValue(BigInteger.ONE.shiftLeft(40)));
+	}
+	
+	@Test
+	void testOverflow() {
+		IntValue max = IntValue.valueOf(Long.MAX_VALUE);
+		IntValue min = IntValue.valueOf(Long.MIN_VALUE);
+		BigInteger bigMax = BigInteger.valueOf(Long.MAX_VALUE);
+		// Promotion
+		assert max.add(NumberValue.ONE).raw().equals(bigMax.add(BigInteger.ONE));
+		assert max.mult(max).raw().equals(bigMax.multiply(bigMax));
+		assert min.negate().raw().equals(BigInteger.valueOf(Long.MIN_VALUE).negate());
+		assert min.div(NumberValue.NEG_ONE).raw().equals(BigInteger.valueOf(Long.MIN_VALUE).negate());
+		// Demotion
+		assert max.add(NumberValue.ONE).sub(NumberValue.ONE).equals(max);
+		assert max.add(NumberValue.ONE).sub(NumberValue.ONE).valueHash() == max.valueHash();
+	}
+	
+	@Test
+	void testArithmetic() {
+		IntValue a = IntValue.valueOf(-7), b = IntValue.valueOf(2);
+		assert a.add(b).equals(IntValue.valueOf(-5));
+		assert a.mult(b).equals(IntValue.valueOf(-14));
+		assert a.mod(b).equals(IntValue.valueOf(-1));
+		assert IntValue.valueOf(-8).div(b).equals(IntValue.valueOf(-4));
+		assert a.div(b) instanceof DecimalValue;
+		assert a.isOdd() && b.isEven();
+		assert a.intValueExact() == -7;
+	}
+	
+	@Test
+	void testKernels() {
+		IntValue two = IntValue.valueOf(2), three = IntValue.valueOf(3);
+		assert two.pow(IntValue.valueOf(100)).raw().equals(BigInteger.TWO.pow(100));
+		assert three.pow(IntValue.valueOf(-1)) instanceof DecimalValue;
+		assert three.root(IntValue.valueOf(1L << 42)).equals(IntValue.valueOf(1 << 14));
+		assert three.root(IntValue.valueOf(-27)).equals(IntValue.valueOf(-3));
+		assert two.root(IntValue.valueOf(2)) instanceof DecimalValue;
+		// Long.MIN_VALUE has no positive counterpart and mustn't take the exact path.
+		try {
+			assert !two.pow(IntValue.valueOf(Long.MIN_VALUE)).equals(NumberValue.ONE);
+		} catch (ArithmeticException tooLong) {
+			// Like any other exponent beyond the int-range
+		}
+		BigInteger fac = BigInteger.ONE;
+		for (int i = 2; i <= 100; i++)
+			fac = fac.multiply(BigInteger.valueOf(i));
+		assert IntValue.valueOf(100).fac().raw().equals(fac);
+		assert IntValue.valueOf(20).fac().equals(IntValue.valueOf(2432902008176640000L));
+	}
+}
@@ -49,7 +49,7 @@ public class BoolValue extends Value {
 	@Override
 	public boolean valueCompare(Value v) {
 		if (v instanceof BoolValue n)
-			return n == TRUE;
+			return n.value == value;
 		throw new AssertionError("Tried to compare " + this + " to " + v + ".");
 	}
 	
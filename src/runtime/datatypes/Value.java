@@ -3,10 +3,14 @@ package runtime.datatypes;
 import static runtime.datatypes.MaybeValue.*;
 
 import java.math.*;
+import java.util.*;
 
 import building.expressions.abstractions.interfaces.*;
 import building.types.specific.datatypes.*;
+import errorhandeling.*;
+import misc.constants.*;
 import runtime.datatypes.array.*;
+import runtime.datatypes.dict.*;
 import runtime.datatypes.numerical.*;
 import runtime.datatypes.textual.*;
 
@@ -47,9 +51,22 @@ public abstract class Value implements ValueHolder {
 	 */
 	public abstract boolean valueCompare(Value v);
 	
+	/**
+	 * Returns a hash, that is consistent with {@link #valueCompare(Value)} for {@link Value}s with the
+	 * same {@link #dataType}.
+	 */
+	public int valueHash() {
+		return Objects.hashCode(raw());
+	}
+	
 	@Override
 	public final Value getValue() { return this; }
 	
+	@Override
+	public ArrayValue asVarArray() throws NonExpressionException {
+		return (ArrayValue) as(TypeConstants.VAR_ARR);
+	}
+	
 	/**
 	 * Tells, if this {@link Value} matches the given {@link DataType}.
 	 *
@@ -77,7 +94,7 @@ public abstract class Value implements ValueHolder {
 	 * The return-type is:
 	 * -{@link BigDecimal} for {@link DecimalValue}.
 	 * -{@link BigInteger} for {@link IntValue}.
-	 * -{@link Double} for {@link ConceptualNrValue}.
+	 * -{@link Double} for {@link DoubleValue} and {@link ConceptualNrValue}.
 	 *
 	 * -{@link String} for {@link TextValue}.
 	 * -{@link Character} for {@link CharValue}.
@@ -87,6 +104,7 @@ public abstract class Value implements ValueHolder {
 	 * -{@link Object} (null) for {@link NullValue}.
 	 *
 	 * -{@link Value[]} for {@link ArrayValue}.
+	 * -{@link ValueTable} for {@link DictValue}.
 	 * </pre>
 	 */
 	public abstract Object raw();
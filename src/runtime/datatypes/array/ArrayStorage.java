@@ -0,0 +1,863 @@
+package runtime.datatypes.array;
+
+import java.math.*;
+import java.util.*;
+
+import building.types.specific.datatypes.*;
+import launching.*;
+import runtime.datatypes.*;
+import runtime.datatypes.numerical.*;
+import runtime.datatypes.textual.*;
+
+/**
+ * The elements of an {@link ArrayValue}.
+ *
+ * One-dimensional arrays of a primitive type that forbid {@link MaybeValue#NULL} store their
+ * elements unboxed. A {@link Value} only gets created, when an element gets read.
+ */
+abstract class ArrayStorage {
+	
+	/** Returns the number of elements. */
+	abstract int length();
+	
+	/** Returns the element at the index. */
+	abstract Value get(int i);
+	
+	/**
+	 * Stores an already casted element at the index.
+	 *
+	 * @return this, or a more general {@link ArrayStorage} with the change, if the element doesn't fit.
+	 */
+	abstract ArrayStorage set(int i, Value v);
+	
+	/**
+	 * Returns an {@link ArrayStorage} with the same elements, that shares the buffer with this one.
+	 * Both copy it on their first change. (Copy-on-write)
+	 */
+	abstract ArrayStorage share();
+	
+	/**
+	 * Returns true, if the element at the index can be reached through another {@link ArrayStorage},
+	 * so that {@link #set(int, Value)} would copy the elements first.
+	 */
+	boolean isShared(int i) {
+		return true;
+	}
+	
+	/**
+	 * Returns a view on the elements from (inclusive) to (exclusive), that shares them with this one.
+	 *
+	 * @param rules are the rules of the {@link ArrayValue} of the slice.
+	 * @throws IndexOutOfBoundsException if the bounds don't lie in this {@link ArrayStorage}.
+	 */
+	ArrayStorage slice(DataType rules, int from, int to) {
+		Objects.checkFromToIndex(from, to, length());
+		return new SliceStorage(share(), rules, from, to - from);
+	}
+	
+	/**
+	 * Returns an {@link ArrayStorage} with an already casted element added at the end. This one stays
+	 * unchanged.
+	 *
+	 * @param rules are the rules of the {@link ArrayValue}, that this belongs to.
+	 */
+	ArrayStorage append(DataType rules, Value v) {
+		Value[] vals = Arrays.copyOf(toArray(), length() + 1);
+		vals[length()] = v;
+		return of(rules, vals);
+	}
+	
+	/**
+	 * Returns a new {@link ArrayStorage} with the elements in the order of the comparator. Equal
+	 * elements keep their order.
+	 *
+	 * @param rules are the rules of the sorted {@link ArrayValue}.
+	 * @param parallel tells, if the comparator may run in the common ForkJoinPool.
+	 */
+	ArrayStorage sorted(DataType rules, Comparator<Value> order, boolean parallel) {
+		Value[] vals = toArray();
+		if (parallel)
+			Arrays.parallelSort(vals, order);
+		else
+			Arrays.sort(vals, order);
+		return of(rules, vals);
+	}
+	
+	/**
+	 * Returns a new {@link ArrayStorage} with the elements in ascending order, if this one can sort its
+	 * unboxed elements directly. Returns null otherwise.
+	 */
+	ArrayStorage sortedUnboxed() {
+		return null;
+	}
+	
+	/** Returns all elements as a new array. */
+	Value[] toArray() {
+		Value[] res = new Value[length()];
+		for (int i = 0; i < res.length; i++)
+			res[i] = get(i);
+		return res;
+	}
+	
+	/**
+	 * Picks the most compact {@link ArrayStorage} for the rules of an {@link ArrayValue} and fills it.
+	 *
+	 * @param vals are the elements, already casted to the element-type.
+	 */
+	static ArrayStorage of(DataType rules, Value[] vals) {
+		if (GridStorage.fits(rules))
+			return GridStorage.of(rules, vals);
+		if (rules.getDims() != 1 || rules.allowsNull)
+			return new ObjectStorage(vals);
+		ArrayStorage s = switch (rules.type) {
+			case INT -> new LongStorage(vals.length);
+			case BOOL -> new BoolStorage(vals.length);
+			case CHAR -> new CharStorage(vals.length);
+			case NR -> Main.getNumeric() == Numeric.FAST ? new DoubleStorage(vals.length) : null;
+			default -> null;
+		};
+		if (s == null)
+			return new ObjectStorage(vals);
+		for (int i = 0; i < vals.length; i++)
+			s = s.set(i, vals[i]);
+		return s;
+	}
+	
+	/** Returns the capacity for a buffer, that has to hold one more element than length. */
+	private static int grow(int length) {
+		return Math.max(8, length + (length >> 1) + 1);
+	}
+	
+	/**
+	 * The state of a growable buffer, that gets shared by all {@link ArrayStorage}s, that were appended
+	 * from each other.
+	 *
+	 * Every view only sees its own prefix of the buffer. Only the longest view may append in place,
+	 * and only the elements beyond every other view may get changed in place. All other changes copy
+	 * the buffer first, so appending never changes the old array.
+	 */
+	private static final class Tail {
+		
+		/** The length of the longest view. */
+		int claimed;
+		
+		/** The length of the longest view apart from that one. */
+		int shared = 0;
+		
+		Tail(int claimed) {
+			this.claimed = claimed;
+		}
+		
+		/** Returns true, if a view with the length can change the element at i in place. */
+		boolean isPrivate(int length, int i) {
+			return length == claimed && i >= shared;
+		}
+		
+		/** Returns true, if a view with the length can append in place to a buffer with the capacity. */
+		boolean canAppend(int length, int capacity) {
+			return length == claimed && length < capacity;
+		}
+		
+		/** Marks, that the longest view, that has the length, got appended in place. */
+		void claimNext(int length) {
+			shared = length;
+			claimed = length + 1;
+		}
+		
+		/** Marks, that a second owner got the whole buffer, so that every view copies on a change. */
+		void shareAll() {
+			claimed = -1;
+		}
+	}
+	
+	/** Stores every element as a {@link Value}. */
+	static final class ObjectStorage extends ArrayStorage {
+		
+		/** The buffer. Only the first {@link #length} elements belong to this view. */
+		private final Value[] content;
+		private final int length;
+		private final Tail tail;
+		
+		ObjectStorage(Value[] content) {
+			this(content, content.length, new Tail(content.length));
+		}
+		
+		private ObjectStorage(Value[] content, int length, Tail tail) {
+			this.content = content;
+			this.length = length;
+			this.tail = tail;
+		}
+		
+		@Override
+		int length() {
+			return length;
+		}
+		
+		@Override
+		Value get(int i) {
+			return content[Objects.checkIndex(i, length)];
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			Objects.checkIndex(i, length);
+			if (!tail.isPrivate(length, i)) {
+				Value[] copy = Arrays.copyOf(content, length);
+				copy[i] = v;
+				return new ObjectStorage(copy);
+			}
+			content[i] = v;
+			return this;
+		}
+		
+		@Override
+		boolean isShared(int i) {
+			return !tail.isPrivate(length, i);
+		}
+		
+		@Override
+		ArrayStorage share() {
+			tail.shareAll();
+			return new ObjectStorage(content, length, tail);
+		}
+		
+		@Override
+		ArrayStorage append(DataType rules, Value v) {
+			if (tail.canAppend(length, content.length)) {
+				content[length] = v;
+				tail.claimNext(length);
+				return new ObjectStorage(content, length + 1, tail);
+			}
+			Value[] grown = new Value[grow(length)];
+			System.arraycopy(content, 0, grown, 0, length);
+			grown[length] = v;
+			return new ObjectStorage(grown, length + 1, new Tail(length + 1));
+		}
+		
+		@Override
+		Value[] toArray() {
+			return Arrays.copyOf(content, length);
+		}
+	}
+	
+	/** Stores {@link SingleType#INT}s as longs. Only the values, that don't fit, stay BigIntegers. */
+	static final class LongStorage extends ArrayStorage {
+		
+		/** The buffer. Only the first {@link #length} elements belong to this view. */
+		private final long[] content;
+		
+		/** The values that don't fit into a long. Null until there is one. */
+		private BigInteger[] big = null;
+		
+		private final int length;
+		private final Tail tail;
+		
+		LongStorage(int length) {
+			this(new long[length], null, length, new Tail(length));
+		}
+		
+		private LongStorage(long[] content, BigInteger[] big, int length, Tail tail) {
+			this.content = content;
+			this.big = big;
+			this.length = length;
+			this.tail = tail;
+		}
+		
+		@Override
+		int length() {
+			return length;
+		}
+		
+		@Override
+		Value get(int i) {
+			Objects.checkIndex(i, length);
+			if (big != null && big[i] != null)
+				return IntValue.valueOf(big[i]);
+			return IntValue.valueOf(content[i]);
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			Objects.checkIndex(i, length);
+			if (!tail.isPrivate(length, i)) {
+				LongStorage copy = new LongStorage(Arrays.copyOf(content, length), big == null ? null : Arrays.copyOf(big, length),
+						length, new Tail(length));
+				return copy.set(i, v);
+			}
+			IntValue iv = (IntValue) v;
+			if (iv.fitsLong()) {
+				content[i] = iv.longValue();
+				if (big != null)
+					big[i] = null;
+			} else {
+				if (big == null)
+					big = new BigInteger[content.length];
+				big[i] = iv.raw();
+			}
+			return this;
+		}
+		
+		@Override
+		ArrayStorage share() {
+			tail.shareAll();
+			return new LongStorage(content, big, length, tail);
+		}
+		
+		@Override
+		ArrayStorage append(DataType rules, Value v) {
+			LongStorage res;
+			if (tail.canAppend(length, content.length)) {
+				tail.claimNext(length);
+				res = new LongStorage(content, big, length + 1, tail);
+			} else {
+				int capacity = grow(length);
+				res = new LongStorage(Arrays.copyOf(content, capacity), big == null ? null : Arrays.copyOf(big, capacity),
+						length + 1, new Tail(length + 1));
+			}
+			// The new element lies beyond every other view
+			return res.set(length, v);
+		}
+		
+		@Override
+		ArrayStorage sortedUnboxed() {
+			if (big != null)
+				return null;
+			long[] sorted = Arrays.copyOf(content, length);
+			Arrays.parallelSort(sorted);
+			return new LongStorage(sorted, null, length, new Tail(length));
+		}
+	}
+	
+	/** Stores {@link SingleType#BOOL}s as bits. */
+	static final class BoolStorage extends ArrayStorage {
+		
+		private final BitSet content;
+		private final int length;
+		private final Tail tail;
+		
+		BoolStorage(int length) {
+			this(new BitSet(length), length, new Tail(length));
+		}
+		
+		private BoolStorage(BitSet content, int length, Tail tail) {
+			this.content = content;
+			this.length = length;
+			this.tail = tail;
+		}
+		
+		@Override
+		int length() {
+			return length;
+		}
+		
+		@Override
+		Value get(int i) {
+			Objects.checkIndex(i, length);
+			return BoolValue.valueOf(content.get(i));
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			Objects.checkIndex(i, length);
+			if (!tail.isPrivate(length, i))
+				return new BoolStorage((BitSet) content.clone(), length, new Tail(length)).set(i, v);
+			content.set(i, ((BoolValue) v).value);
+			return this;
+		}
+		
+		@Override
+		ArrayStorage share() {
+			tail.shareAll();
+			return new BoolStorage(content, length, tail);
+		}
+	}
+	
+	/** Stores {@link SingleType#CHAR}s as chars. */
+	static final class CharStorage extends ArrayStorage {
+		
+		private final char[] content;
+		private final Tail tail;
+		
+		CharStorage(int length) {
+			this(new char[length], new Tail(length));
+		}
+		
+		private CharStorage(char[] content, Tail tail) {
+			this.content = content;
+			this.tail = tail;
+		}
+		
+		@Override
+		int length() {
+			return content.length;
+		}
+		
+		@Override
+		Value get(int i) {
+			return new CharValue(content[i]);
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			if (!tail.isPrivate(content.length, i))
+				return new CharStorage(content.clone(), new Tail(content.length)).set(i, v);
+			content[i] = ((CharValue) v).raw();
+			return this;
+		}
+		
+		@Override
+		ArrayStorage share() {
+			tail.shareAll();
+			return new CharStorage(content, tail);
+		}
+		
+		@Override
+		ArrayStorage sortedUnboxed() {
+			char[] sorted = content.clone();
+			Arrays.parallelSort(sorted);
+			return new CharStorage(sorted, new Tail(sorted.length));
+		}
+	}
+	
+	/**
+	 * Stores {@link SingleType#NR}s in the {@link Numeric#FAST}-mode as doubles. Switches to an
+	 * {@link ObjectStorage}, as soon as a number cannot be represented exactly.
+	 */
+	static final class DoubleStorage extends ArrayStorage {
+		
+		/** The biggest integer, up to which every integer is a double. */
+		private static final long MAX_EXACT = 1L << 53;
+		
+		private final double[] content;
+		private final Tail tail;
+		
+		DoubleStorage(int length) {
+			this(new double[length], new Tail(length));
+		}
+		
+		private DoubleStorage(double[] content, Tail tail) {
+			this.content = content;
+			this.tail = tail;
+		}
+		
+		@Override
+		int length() {
+			return content.length;
+		}
+		
+		@Override
+		Value get(int i) {
+			return NumberValue.create(content[i]);
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			if (!tail.isPrivate(content.length, i))
+				return new DoubleStorage(content.clone(), new Tail(content.length)).set(i, v);
+			if (v instanceof DoubleValue d)
+				content[i] = d.value;
+			else if (v instanceof ConceptualNrValue c)
+				content[i] = c.doubleValue();
+			else if (v instanceof IntValue iv && iv.fitsLong() && Math.abs(iv.longValue()) <= MAX_EXACT)
+				content[i] = iv.longValue();
+			else {
+				ArrayStorage s = new ObjectStorage(toArray());
+				return s.set(i, v);
+			}
+			return this;
+		}
+		
+		@Override
+		ArrayStorage share() {
+			tail.shareAll();
+			return new DoubleStorage(content, tail);
+		}
+		
+		/** NaN cannot be compared, so an array with it doesn't get sorted here. */
+		@Override
+		ArrayStorage sortedUnboxed() {
+			double[] sorted = content.clone();
+			Arrays.parallelSort(sorted);
+			if (sorted.length > 0 && Double.isNaN(sorted[sorted.length - 1]))
+				return null;
+			return new DoubleStorage(sorted, new Tail(sorted.length));
+		}
+	}
+	
+	/**
+	 * Stores a rectangular multi-dimensional array row-major in one flat {@link ArrayStorage}, so that
+	 * an n-dimensional index resolves to a single offset.
+	 *
+	 * Every sub-array is a view on the same data, that only knows its dimension and offset.
+	 */
+	static final class GridStorage extends ArrayStorage {
+		
+		/** The data and layout, that all views on one array share. */
+		private static final class Grid {
+			
+			/** The elements of the innermost dimension, row-major. */
+			ArrayStorage data;
+			
+			final int[] shape, strides;
+			
+			/** The rules of a view on each dimension. */
+			final DataType[] types;
+			
+			/** Creates a {@link Grid} with the same layout, that shares the data copy-on-write. */
+			Grid(Grid g) {
+				data = g.data.share();
+				shape = g.shape;
+				strides = g.strides;
+				types = g.types;
+			}
+			
+			Grid(DataType rules, int length) {
+				int dims = rules.getDims();
+				shape = new int[dims];
+				strides = new int[dims];
+				types = new DataType[dims];
+				shape[0] = length;
+				for (int k = 1; k < dims; k++)
+					shape[k] = rules.ranges[k].lowerBound;
+				strides[dims - 1] = 1;
+				for (int k = dims - 2; k >= 0; k--)
+					strides[k] = Math.multiplyExact(strides[k + 1], shape[k + 1]);
+				for (int k = 0; k < dims; k++)
+					types[k] = rules.inner(k);
+			}
+		}
+		
+		private final Grid grid;
+		
+		/** The dimension of the {@link Grid}, that this view starts at. */
+		private final int level;
+		
+		/** The position of the first element of this view in {@link Grid#data}. */
+		private final int offset;
+		
+		private GridStorage(Grid grid, int level, int offset) {
+			this.grid = grid;
+			this.level = level;
+			this.offset = offset;
+		}
+		
+		/** Returns true, if every array with these rules is rectangular. */
+		static boolean fits(DataType rules) {
+			if (rules.getDims() < 2)
+				return false;
+			for (int k = 1; k < rules.getDims(); k++) {
+				if (rules.ranges[k].lowerBound != rules.ranges[k].upperBound)
+					return false;
+			}
+			return true;
+		}
+		
+		/**
+		 * Flattens already casted sub-arrays into a new {@link Grid}.
+		 *
+		 * @param rows have to match the shape of the rules.
+		 */
+		static GridStorage of(DataType rules, Value[] rows) {
+			Grid grid = new Grid(rules, rows.length);
+			Value[] flat = new Value[Math.multiplyExact(grid.strides[0], rows.length)];
+			GridStorage root = new GridStorage(grid, 0, 0);
+			for (int i = 0; i < rows.length; i++)
+				root.flatten(1, i * grid.strides[0], rows[i], flat);
+			grid.data = ArrayStorage.of(grid.types[grid.shape.length - 1], flat);
+			return root;
+		}
+		
+		/** Writes the elements of v, that lies in dimension lvl, into flat. */
+		private void flatten(int lvl, int off, Value v, Value[] flat) {
+			if (lvl == grid.shape.length) {
+				flat[off] = v;
+				return;
+			}
+			ArrayValue a = (ArrayValue) v;
+			for (int j = 0; j < grid.shape[lvl]; j++)
+				flatten(lvl + 1, off + j * grid.strides[lvl], a.get(j), flat);
+		}
+		
+		/** Returns the number of dimensions of this view. */
+		int dims() {
+			return grid.shape.length - level;
+		}
+		
+		@Override
+		int length() {
+			return grid.shape[level];
+		}
+		
+		@Override
+		Value get(int i) {
+			Objects.checkIndex(i, length());
+			return read(level + 1, offset + i * grid.strides[level]);
+		}
+		
+		/** Resolves n indices, starting at idxs[from], with a single offset-computation. */
+		Value get(int[] idxs, int from, int n) {
+			return read(level + n, offsetOf(idxs, from, n));
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			Objects.checkIndex(i, length());
+			write(level + 1, offset + i * grid.strides[level], v);
+			return this;
+		}
+		
+		/**
+		 * Sets the element at the remaining indices, starting at idxs[from], to an already casted value.
+		 *
+		 * @return the previous element. A previous sub-array gets copied.
+		 */
+		Value set(int[] idxs, int from, Value v) {
+			int n = idxs.length - from;
+			int off = offsetOf(idxs, from, n);
+			Value prev = read(level + n, off);
+			if (prev instanceof ArrayValue a)
+				prev = new ArrayValue(a.getRules(), new GridStorage(grid, level + n, off).copy());
+			write(level + n, off, v);
+			return prev;
+		}
+		
+		private int offsetOf(int[] idxs, int from, int n) {
+			int off = offset;
+			for (int k = 0; k < n; k++)
+				off += Objects.checkIndex(idxs[from + k], grid.shape[level + k]) * grid.strides[level + k];
+			return off;
+		}
+		
+		/** Returns the element in dimension lvl at the offset. Sub-arrays are views. */
+		private Value read(int lvl, int off) {
+			if (lvl == grid.shape.length)
+				return grid.data.get(off);
+			return new ArrayValue(grid.types[lvl], new GridStorage(grid, lvl, off));
+		}
+		
+		/** Overwrites the element in dimension lvl at the offset. Sub-arrays get copied elementwise. */
+		private void write(int lvl, int off, Value v) {
+			if (lvl == grid.shape.length) {
+				grid.data = grid.data.set(off, v);
+				return;
+			}
+			Value[] elems = ((ArrayValue) v).raw(); // Snapshot, in case v is a view on this grid
+			assert elems.length == grid.shape[lvl] : "Sub-arrays have to match the shape.";
+			for (int j = 0; j < elems.length; j++)
+				write(lvl + 1, off + j * grid.strides[lvl], elems[j]);
+		}
+		
+		/** Only a whole array gets shared. The data of a view on a sub-array gets copied. */
+		@Override
+		ArrayStorage share() {
+			return level == 0 ? new GridStorage(new Grid(grid), 0, 0) : copy();
+		}
+		
+		/** Returns a new {@link GridStorage}, that holds a copy of the elements in this view. */
+		GridStorage copy() {
+			Value[] rows = new Value[length()];
+			for (int i = 0; i < rows.length; i++)
+				rows[i] = get(i);
+			return of(grid.types[level], rows);
+		}
+	}
+	
+	/**
+	 * A window on another, shared {@link ArrayStorage}. Reads go through to it, the first change copies
+	 * the window into an own {@link ArrayStorage}.
+	 */
+	static final class SliceStorage extends ArrayStorage {
+		
+		/** The shared {@link ArrayStorage}. It never gets changed through this view. */
+		private final ArrayStorage base;
+		
+		/** The rules of the {@link ArrayValue}, that this belongs to. */
+		private final DataType rules;
+		
+		private final int offset;
+		private final int length;
+		
+		SliceStorage(ArrayStorage base, DataType rules, int offset, int length) {
+			this.base = base;
+			this.rules = rules;
+			this.offset = offset;
+			this.length = length;
+		}
+		
+		@Override
+		int length() {
+			return length;
+		}
+		
+		@Override
+		Value get(int i) {
+			Objects.checkIndex(i, length);
+			return base.get(offset + i);
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			Objects.checkIndex(i, length);
+			return of(rules, toArray()).set(i, v);
+		}
+		
+		@Override
+		ArrayStorage share() {
+			return new SliceStorage(base, rules, offset, length);
+		}
+		
+		/** Slices the base directly, so that views never nest. */
+		@Override
+		ArrayStorage slice(DataType rules, int from, int to) {
+			Objects.checkFromToIndex(from, to, length);
+			return new SliceStorage(base, rules, offset + from, to - from);
+		}
+	}
+	
+	/**
+	 * The ints start, start + step, start + 2 * step... of a range like 1..10. No element gets stored,
+	 * the first change copies them into an own {@link ArrayStorage}.
+	 */
+	static final class RangeStorage extends ArrayStorage {
+		
+		/** The rules of the {@link ArrayValue}, that this belongs to. */
+		private final DataType rules;
+		
+		private final long start;
+		private final long step;
+		private final int length;
+		
+		RangeStorage(DataType rules, long start, long step, int length) {
+			this.rules = rules;
+			this.start = start;
+			this.step = step;
+			this.length = length;
+		}
+		
+		@Override
+		int length() {
+			return length;
+		}
+		
+		@Override
+		Value get(int i) {
+			Objects.checkIndex(i, length);
+			return IntValue.valueOf(start + i * step);
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			Objects.checkIndex(i, length);
+			return of(rules, toArray()).set(i, v);
+		}
+		
+		/** Nothing can change this, so it is its own copy. */
+		@Override
+		ArrayStorage share() {
+			return this;
+		}
+		
+		@Override
+		ArrayStorage slice(DataType rules, int from, int to) {
+			Objects.checkFromToIndex(from, to, length);
+			return new RangeStorage(rules, start + from * step, step, to - from);
+		}
+		
+		/** A range is sorted already, or gets reversed. */
+		@Override
+		ArrayStorage sortedUnboxed() {
+			if (step > 0 || length == 0)
+				return this;
+			return new RangeStorage(rules, start + (length - 1) * step, -step, length);
+		}
+		
+		/** Returns true, if the int is one of the elements. Works in constant time. */
+		boolean contains(IntValue v) {
+			if (length == 0 || !v.fitsLong())
+				return false;
+			long x = v.longValue(), last = start + (length - 1) * step;
+			if (x < Math.min(start, last) || x > Math.max(start, last))
+				return false;
+			return (x - start) % step == 0;
+		}
+	}
+	
+	/**
+	 * The result of a {@link Pipeline}. It runs, as far as its elements get read, and keeps them from
+	 * then on. So the stages run at most once for every element.
+	 */
+	static final class PipeStorage extends ArrayStorage {
+		
+		final Pipeline pipeline;
+		
+		/** Pulls the next elements, or null after the last one. */
+		private Pipeline.Cursor cursor;
+		
+		/** The elements, that already got pulled. */
+		private final List<Value> pulled = new ArrayList<>();
+		
+		/** All elements, or null until the {@link Pipeline} ran to its end. They never get changed in place. */
+		private ArrayStorage done = null;
+		
+		PipeStorage(Pipeline pipeline) {
+			this.pipeline = pipeline;
+			this.cursor = pipeline.cursor();
+		}
+		
+		/** Returns true, if the {@link Pipeline} already ran to its end. */
+		boolean isDone() {
+			return done != null;
+		}
+		
+		/** Tells, if there is an element at the index. Only runs the {@link Pipeline} up to it. */
+		boolean has(int i) {
+			if (done != null)
+				return i < done.length();
+			while (cursor != null && pulled.size() <= i) {
+				Value v = cursor.next();
+				if (v == null)
+					cursor = null;
+				else
+					pulled.add(v);
+			}
+			return i < pulled.size();
+		}
+		
+		private ArrayStorage done() {
+			if (done == null) {
+				has(Integer.MAX_VALUE);
+				done = new ObjectStorage(pulled.toArray(new Value[pulled.size()]));
+				pulled.clear();
+			}
+			return done;
+		}
+		
+		@Override
+		int length() {
+			return done().length();
+		}
+		
+		@Override
+		Value get(int i) {
+			if (done == null && has(i))
+				return pulled.get(i);
+			return done().get(i);
+		}
+		
+		@Override
+		ArrayStorage set(int i, Value v) {
+			return done().share().set(i, v);
+		}
+		
+		/** Nothing can change this, so it is its own copy. */
+		@Override
+		ArrayStorage share() {
+			return this;
+		}
+		
+		@Override
+		Value[] toArray() {
+			return done().toArray();
+		}
+	}
+}
@@ -3,8 +3,8 @@ package runtime.datatypes.array;
 import static building.types.specific.datatypes.SingleType.*;
 import static runtime.datatypes.MaybeValue.*;
 
+import java.math.*;
 import java.util.*;
-import java.util.stream.*;
 
 import building.expressions.abstractions.*;
 import building.expressions.abstractions.interfaces.*;
@@ -15,6 +15,7 @@ import importing.filedata.paths.*;
 import misc.constants.*;
 import misc.helper.*;
 import runtime.datatypes.*;
+import runtime.datatypes.dict.*;
 import runtime.datatypes.numerical.*;
 import runtime.datatypes.textual.*;
 
@@ -26,9 +27,36 @@ import runtime.datatypes.textual.*;
  */
 public final class ArrayValue extends Value implements Iterable<Value> {
 	
-	private Value[] content;
+	private ArrayStorage content;
 	private final DataType rules;
 	
+	/**
+	 * The last {@link DataType}, that every element was checked against in
+	 * {@link #allowsLosslessCastingTo(DataType)}, if none of the elements is an {@link ArrayValue}.
+	 * Appending and setting keep it up to date, so that reassigning a growing array to its variable
+	 * doesn't check every element again.
+	 */
+	private DataType matched = null;
+	
+	/**
+	 * A hash-index over the elements, that {@link #contains(Value)} builds after it scanned this
+	 * unchanged array {@link #INDEX_AFTER} times, like a constant array on the right of the
+	 * in-operator. Every change drops it.
+	 */
+	private ValueTable index = null;
+	
+	/** The number of calls to {@link #contains(Value)} since the last change. */
+	private int scans = 0;
+	
+	/** The number of scans, after which an {@link #index} gets built. */
+	private static final int INDEX_AFTER = 8;
+	
+	/** The minimum length of an array with an {@link #index}. */
+	private static final int INDEX_MIN_LENGTH = 16;
+	
+	/** The rules of a {@link #range(long, long, long)}. */
+	private static final DataType RANGE_RULES = new DataType(INT, false, Range.UNBOUNDED);
+	
 	/**
 	 * Creates a {@link TypeConstants#VAR_ARR} with the given content.
 	 *
@@ -55,18 +83,46 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 		assert content != null : "Arraycontent cannot be null.";
 		assert rules.ranges.length > 0 : "Has to contain dimensions.";
 		this.rules = rules;
-		// Bounds-Check
+		checkLength(content.length);
+		// Rule-Check
+		this.content = ArrayStorage.of(rules, cast(content, rules));
+	}
+	
+	/**
+	 * Creates the int-array start, start + step, start + 2 * step... up to end (inclusive), like 1..10.
+	 * The elements get computed, when they are read, so that even a long range takes no memory.
+	 *
+	 * @throws NonExpressionException if the step is 0, or the range is too long for an array.
+	 */
+	public static ArrayValue range(long start, long end, long step) throws NonExpressionException {
+		if (step == 0)
+			throw new NonExpressionException("Range", "The step of a range cannot be 0.");
+		BigInteger length = BigInteger.ZERO;
+		if (step > 0 ? start <= end : start >= end)
+			length = BigInteger.valueOf(end).subtract(BigInteger.valueOf(start)).divide(BigInteger.valueOf(step)).add(BigInteger.ONE);
+		if (length.bitLength() >= Integer.SIZE)
+			throw new NonExpressionException("Range", "The range from " + start + " to " + end + " holds more elements than an array can.");
+		return new ArrayValue(RANGE_RULES, new ArrayStorage.RangeStorage(RANGE_RULES, start, step, length.intValue()));
+	}
+	
+	/** Bounds-Check for a new length of this {@link ArrayValue}. */
+	private void checkLength(int length) {
 		Range r = getRanges()[0];
-		if (r.lowerBound > content.length) {
+		if (r.lowerBound > length) {
 			throw new ArrayIndexOutOfBoundsException(
-					content.length + " is an invalid length. This array has a lower bound of " + r.lowerBound);
+					length + " is an invalid length. This array has a lower bound of " + r.lowerBound);
 		}
-		if (content.length > r.upperBound) {
+		if (length > r.upperBound) {
 			throw new ArrayIndexOutOfBoundsException(
-					content.length + " is an invalid length. This array has a upper bound of " + r.upperBound);
+					length + " is an invalid length. This array has a upper bound of " + r.upperBound);
 		}
-		// Rule-Check
-		this.content = cast(content, rules);
+	}
+	
+	/** Creates a view on existing elements. (Unchecked) */
+	ArrayValue(DataType rules, ArrayStorage content) {
+		super(rules.type);
+		this.rules = rules;
+		this.content = content;
 	}
 	
 	/**
@@ -77,17 +133,24 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 	 * @throws NonExpressionException if null is forbidden.
 	 */
 	private static Value[] cast(Value[] vals, DataType target) throws NonExpressionException {
-		DataType subRules = new DataType(target.type, target.allowsNull, Arrays.copyOfRange(target.ranges, 1, target.ranges.length));
+		DataType subRules = target.inner(1);
 		for (int i = 0; i < vals.length; i++) {
 			if (!target.allowsNull && vals[i] == NULL) {
 				throw new NonExpressionException("Casting",
 						"You cannot cast an array, that contains null values, to one, that doesn't allow them.");
 			}
-			vals[i] = vals[i].as(subRules);
+			// Elements of the exact type need no cast
+			if (vals[i].dataType != subRules.type || subRules.isArrayType() || vals[i] instanceof ArrayValue)
+				vals[i] = vals[i].as(subRules);
 		}
 		return vals;
 	}
 	
+	/** Returns the elements, for a {@link Pipeline}. */
+	ArrayStorage storage() {
+		return content;
+	}
+	
 	/** Returns the {@link DataType} of this {@link ArrayValue}. */
 	public DataType getRules() { return rules; }
 	
@@ -101,17 +164,46 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 	
 	@Override
 	public Value as(DataType t) throws NonExpressionException {
-		if (t.isArrayType())
-			return new ArrayValue(t, content);
+		if (t.isArrayType()) {
+			if (castsUnchanged(t)) // Share the elements until the first change
+				return share(t);
+			return new ArrayValue(t, content.toArray());
+		}
 		return switch (t.type) {
 			case VAR -> this;
 			case BOOL -> BoolValue.valueOf(length() != 0); // isEmpty
-			case NR, INT -> new IntValue(length()); // length
+			case NR, INT -> IntValue.valueOf(length()); // length
 			case TEXT -> asText();
+			case SET -> SetValue.of(this);
 			default -> ValueHolder.throwCastingExc(this, t);
 		};
 	}
 	
+	/**
+	 * Returns true, if a cast to the {@link DataType} would keep every element and the storage as they
+	 * are. This is the case for the same rules, or for a cast of {@link Value}s into a
+	 * {@link TypeConstants#VAR_ARR}.
+	 */
+	private boolean castsUnchanged(DataType t) {
+		if (t.type == dataType && t.allowsNull == rules.allowsNull && Arrays.equals(t.ranges, rules.ranges))
+			return true;
+		return t.type == VAR && t.allowsNull && t.getDims() == 1 && content instanceof ArrayStorage.ObjectStorage
+				&& t.ranges[0].lowerBound <= length() && length() <= t.ranges[0].upperBound;
+	}
+	
+	/** Returns an {@link ArrayValue} with the rules, that shares the elements copy-on-write. */
+	private ArrayValue share(DataType t) {
+		ArrayValue res = new ArrayValue(t, content.share());
+		res.matched = matched;
+		return res;
+	}
+	
+	/** Every {@link ArrayValue} can be read as a {@link TypeConstants#VAR_ARR}, so no copy is needed. */
+	@Override
+	public ArrayValue asVarArray() {
+		return this;
+	}
+	
 	/**
 	 * Casts this {@link ArrayValue} to a text-array.
 	 *
@@ -136,7 +228,42 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 	 * @see {@link ArrayAccess#getValue()}
 	 */
 	public Value get(int i) {
-		return content[i];
+		return content.get(i);
+	}
+	
+	/**
+	 * Returns a value at an n-dimensional index. Rectangular dimensions get resolved in one step.
+	 *
+	 * @see {@link ArrayAccess#getValue()}
+	 */
+	public Value get(int[] idxs) {
+		Value v = this;
+		for (int i = 0; i < idxs.length;) {
+			ArrayStorage s = ((ArrayValue) v).content;
+			if (s instanceof ArrayStorage.GridStorage g) {
+				int n = Math.min(g.dims(), idxs.length - i);
+				v = g.get(idxs, i, n);
+				i += n;
+			} else
+				v = s.get(idxs[i++]);
+		}
+		return v;
+	}
+	
+	/**
+	 * Returns the elements from (inclusive) to (exclusive) as an unbounded {@link ArrayValue}, that
+	 * shares them with this one until either of both gets changed.
+	 *
+	 * @see {@link Slice}
+	 * @throws IndexOutOfBoundsException if the bounds don't lie in this {@link ArrayValue}.
+	 */
+	public ArrayValue slice(int from, int to) {
+		Range[] ranges = rules.ranges.clone();
+		ranges[0] = Range.UNBOUNDED;
+		DataType sliceRules = new DataType(dataType, rules.allowsNull, ranges);
+		ArrayValue res = new ArrayValue(sliceRules, content.slice(sliceRules, from, to));
+		res.matched = matched;
+		return res;
 	}
 	
 	/**
@@ -148,48 +275,101 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 	 * @param idxs is the n-dimensional index of the change.
 	 */
 	public Value set(Value val, String varName, DataPath dataPath, ValueHolder... idxs) {
+		int[] intIdxs = new int[idxs.length];
 		try {
-			DataType expType = new DataType(dataType, rules.allowsNull,
-					Arrays.copyOfRange(getRanges(), Math.min(idxs.length, getRanges().length), getRanges().length));
-			if (!val.matches(expType))
-				throw new NonExpressionException("ArrayAccess", "Tried to set the value " + val + " into \"" + varName
-						+ "\" when only values of type \"" + rules + "\" are allowed.");
-			return set(val, Arrays.stream(idxs).map(t -> {
-				try {
-					return MathHelper.valToInt(t);
-				} catch (Exception e) {
-					throw new PseudocodeException(e, dataPath);
-				}
-			}).collect(Collectors.toList()));
+			for (int i = 0; i < idxs.length; i++)
+				intIdxs[i] = MathHelper.valToInt(idxs[i]);
+		} catch (Exception e) {
+			throw new PseudocodeException(e, dataPath);
+		}
+		return set(val, varName, dataPath, intIdxs);
+	}
+	
+	/**
+	 * Sets a value at an n-dimensional index and checks, if it matches the expected type.
+	 *
+	 * @see #set(Value, String, DataPath, ValueHolder...)
+	 */
+	public Value set(Value val, String varName, DataPath dataPath, int[] idxs) {
+		try {
+			checkType(val, idxs.length, varName);
+			return set(val, idxs);
 		} catch (Exception e) {
 			throw new PseudocodeException(e, dataPath);
 		}
 	}
 	
+	/**
+	 * Sets a value at a one-dimensional index and checks, if it matches the expected type. Allocates
+	 * nothing for a one-dimensional array.
+	 *
+	 * @see #set(Value, String, DataPath, ValueHolder...)
+	 */
+	public Value set(Value val, String varName, DataPath dataPath, int idx) {
+		try {
+			checkType(val, 1, varName);
+			if (content instanceof ArrayStorage.GridStorage)
+				return set(val, new int[] {idx});
+			Value prev = content.get(idx);
+			Value elem = val.as(elemType());
+			content = content.set(idx, elem);
+			matched = stillMatched(elem);
+			dropIndex();
+			return prev;
+		} catch (Exception e) {
+			throw new PseudocodeException(e, dataPath);
+		}
+	}
+	
+	/** Throws an exception, if the value doesn't match the type of the elements depth dimensions deeper. */
+	private void checkType(Value val, int depth, String varName) throws NonExpressionException {
+		if (!val.matches(rules.inner(Math.min(depth, getRanges().length))))
+			throw new NonExpressionException("ArrayAccess", "Tried to set the value " + val + " into \"" + varName
+					+ "\" when only values of type \"" + rules + "\" are allowed.");
+	}
+	
 	/**
 	 * Changes a value in possibly multiple dimensions. (Unchecked)
 	 *
 	 * @throws NonExpressionException -> Casting
 	 */
-	private Value set(Value val, List<Integer> idxs) throws NonExpressionException {
-		int idx = idxs.remove(0);
-		if (idxs.isEmpty()) { // Change in this dim
-			Value prev = content[idx];
-			content[idx] = val.as(elemType());
-			return prev;
+	private Value set(Value val, int[] idxs) throws NonExpressionException {
+		matched = null;
+		dropIndex();
+		ArrayValue a = this;
+		for (int i = 0;;) {
+			int rest = idxs.length - i;
+			if (a.content instanceof ArrayStorage.GridStorage g) {
+				if (rest <= g.dims()) // Change in a rectangular dim
+					return g.set(idxs, i, val.as(a.rules.inner(rest)));
+				a = (ArrayValue) g.get(idxs, i, g.dims());
+				i += g.dims();
+			} else if (rest == 1) { // Change in this dim
+				Value prev = a.content.get(idxs[i]);
+				a.content = a.content.set(idxs[i], val.as(a.elemType()));
+				a.matched = null;
+				a.dropIndex();
+				return prev;
+			} else { // Change underlying value
+				ArrayValue sub = (ArrayValue) a.content.get(idxs[i]);
+				if (a.content.isShared(idxs[i])) { // Another array holds the same sub-array
+					sub = sub.share(sub.rules);
+					a.content = a.content.set(idxs[i], sub);
+				}
+				a = sub;
+				i++;
+			}
 		}
-		// Change underlying value
-		return ((ArrayValue) content[idx]).set(val, new ArrayList<>(idxs));
 	}
 	
 	/** Returns the {@link DataType} the elements in this {@link ArrayValue} should have. */
 	private DataType elemType() {
-		return new DataType(dataType, rules.allowsNull, Arrays.copyOfRange(getRanges(), 1, getRanges().length));
+		return rules.inner(1);
 	}
 	
 	/** Simply returns the number of entries. */
 	public int length() {
-		return content.length;
+		return content.length();
 	}
 	
 	/**
@@ -200,19 +380,21 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 		if (getRanges().length == type.getDims() || type.type == VAR) {
 			if (!dataType.is(type.type) && dataType != VAR)
 				return false;
-			DataType inner;
-			if (type.getDims() == 0) { // Check for one-dimensional var-type
-				if (type.type != VAR)
-					return false;
-				inner = new DataType(VAR, type.allowsNull);
-			} else
-				inner = new DataType(type.type, type.allowsNull, Arrays.copyOfRange(type.ranges, 1, type.getDims()));
+			if (type.getDims() == 0 && type.type != VAR) // Check for one-dimensional var-type
+				return false;
+			DataType inner = elemTypeFor(type);
 			// Cancel when array is empty, but subarrays are expected
-			if (content.length == 0 && inner.getDims() >= 1)
+			if (length() == 0 && inner.getDims() >= 1)
 				return false;
-			for (Value v : content) {
-				if (!v.matches(inner))
-					return false;
+			if (type != matched && !(content instanceof ArrayStorage.RangeStorage && INT.is(inner.type) && inner.getDims() == 0)) {
+				boolean flat = true;
+				for (Value v : this) {
+					if (!v.matches(inner))
+						return false;
+					flat &= !(v instanceof ArrayValue);
+				}
+				if (flat && !(content instanceof ArrayStorage.GridStorage))
+					matched = type;
 			}
 			// Here, every elem in the array matches the passed type.
 			return (type.type == VAR && type.getDims() == 0)
@@ -221,10 +403,22 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 		return false; // Gets returned if the dimensions don't match
 	}
 	
+	/** Returns the {@link DataType}, that every element needs for a lossless cast to the type. */
+	private static DataType elemTypeFor(DataType type) {
+		return type.getDims() == 0 ? new DataType(VAR, type.allowsNull) : type.inner(1);
+	}
+	
+	/** Keeps {@link #matched}, if a new element doesn't break it. */
+	private DataType stillMatched(Value elem) {
+		if (matched == null || elem instanceof ArrayValue || !elem.matches(elemTypeFor(matched)))
+			return null;
+		return matched;
+	}
+	
 	/** Returns a copy of the elements in this {@link ArrayValue}. */
 	@Override
 	public Value[] raw() {
-		return Arrays.copyOf(content, length());
+		return content.toArray();
 	}
 	
 	/**
@@ -246,6 +440,15 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 		return false;
 	}
 	
+	/** Combines the hashes of all elements. */
+	@Override
+	public int valueHash() {
+		int h = 1;
+		for (int i = 0; i < length(); i++)
+			h = 31 * h + get(i).valueHash();
+		return h;
+	}
+	
 	@Override
 	public String toString() {
 		return asText().raw();
@@ -255,10 +458,18 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 	
 	/** Merges this {@link ArrayValue} with another one. */
 	public ArrayValue concat(ArrayValue a) {
-		Value[] content = CollectionHelper.merge(raw(), a.raw());
+		Value[] content = new Value[length() + a.length()];
+		copyInto(content, 0);
+		a.copyInto(content, length());
 		return ArrayValue.newInstance(content);
 	}
 	
+	/** Writes the elements of this {@link ArrayValue} into dest, starting at the index. */
+	private void copyInto(Value[] dest, int at) {
+		for (int i = 0; i < length(); i++)
+			dest[at + i] = content.get(i);
+	}
+	
 	/** Multiplies this {@link ArrayValue} n times */
 	public ArrayValue multiply(int n, DataPath dataPath) {
 		if (n < 0)
@@ -268,34 +479,122 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 			// Multiply Content
 			Value[] content = new Value[orgL * n];
 			for (int i = 0; i < n; i++)
-				System.arraycopy(raw(), 0, content, i * orgL, orgL);
+				copyInto(content, i * orgL);
 			return new ArrayValue(rules, content);
 		} catch (NonExpressionException e) {
 			throw new PseudocodeException(e, dataPath);
 		}
 	}
 	
+	/**
+	 * Returns a sorted copy of this {@link ArrayValue}. Numbers get ordered like in
+	 * {@link NumberValue#isSmallerThan(NumberValue)}, texts and chars lexicographically. Equal elements
+	 * keep their order.
+	 *
+	 * @throws NonExpressionException if the elements aren't all numbers or all textual.
+	 * @throws ArithmeticException if a number is NaN.
+	 */
+	public ArrayValue sorted() throws NonExpressionException {
+		ArrayStorage res = content.sortedUnboxed();
+		if (res == null)
+			res = content.sorted(rules, naturalOrder(), true);
+		return new ArrayValue(rules, res);
+	}
+	
+	/**
+	 * Returns a copy of this {@link ArrayValue}, that is sorted by the comparator. Equal elements keep
+	 * their order.
+	 *
+	 * @param order can run code of the program, so it gets called from this thread only.
+	 * @throws IllegalArgumentException if the comparator isn't consistent.
+	 */
+	public ArrayValue sorted(Comparator<Value> order) {
+		return new ArrayValue(rules, content.sorted(rules, order, false));
+	}
+	
+	/** Returns the natural order of the elements, if they are all numbers or all textual. */
+	private Comparator<Value> naturalOrder() throws NonExpressionException {
+		boolean numbers = true, texts = true;
+		for (Value v : this) {
+			numbers &= v instanceof NumberValue;
+			texts &= v instanceof TextValue || v instanceof CharValue;
+		}
+		if (numbers) {
+			return (a, b) -> {
+				try {
+					NumberValue x = (NumberValue) a, y = (NumberValue) b;
+					return x.isSmallerThan(y) ? -1 : y.isSmallerThan(x) ? 1 : 0;
+				} catch (NonExpressionException e) {
+					throw new AssertionError("Numbers are always comparable.", e);
+				}
+			};
+		}
+		if (texts)
+			return Comparator.comparing(v -> v.asText().raw());
+		throw new NonExpressionException("Sort", "Only an array of numbers or of texts can get sorted without a comparator.");
+	}
+	
 	/** Returns {@link BoolValue#TRUE} if this array contains the specified element. */
 	public BoolValue contains(Value element) {
+		if (content instanceof ArrayStorage.RangeStorage r && element instanceof IntValue iv)
+			return BoolValue.valueOf(r.contains(iv));
+		if (index == null && ++scans == INDEX_AFTER && length() >= INDEX_MIN_LENGTH)
+			index = buildIndex();
+		if (index != null && indexable(element) == indexable(index.keyAt(0)))
+			return BoolValue.valueOf(index.containsKey(element));
 		for (Value v : this) {
-			if (Value.eq(v, element).value)
+			if (v.valueCompare(element))
 				return BoolValue.TRUE;
 		}
 		return BoolValue.FALSE;
 	}
 	
 	/**
-	 * Appends a value at the end of this {@link ArrayValue}.
+	 * Returns an index over the elements, or null if they aren't all numbers or all texts. Only then a
+	 * lookup in it matches {@link Value#valueCompare(Value)}, as "1" equals 1, but isn't the same key.
+	 * The rows of a grid are views, that can change with it, so they don't get an index.
+	 */
+	private ValueTable buildIndex() {
+		if (content instanceof ArrayStorage.GridStorage)
+			return null;
+		SingleType kind = indexable(get(0));
+		ValueTable res = new ValueTable(length());
+		for (Value v : this) {
+			if (kind == null || indexable(v) != kind)
+				return null;
+			res.put(v, v);
+		}
+		return res;
+	}
+	
+	/** Returns {@link SingleType#NR} for a number, {@link SingleType#TEXT} for a text and null otherwise. */
+	private static SingleType indexable(Value v) {
+		if (v instanceof NumberValue)
+			return NR;
+		return v instanceof TextValue ? TEXT : null;
+	}
+	
+	/** Drops the {@link #index} after a change. */
+	private void dropIndex() {
+		index = null;
+		scans = 0;
+	}
+	
+	/**
+	 * Appends a value at the end of this {@link ArrayValue}. This {@link ArrayValue} stays unchanged,
+	 * but shares its buffer with the result, so that building an array in a loop is amortised O(1)
+	 * per element.
 	 *
 	 * @throws NonExpressionException -> Casting
 	 *
 	 * @throws CastingException if the {@link DataType}s didn't match.
 	 */
 	public ArrayValue append(Value val) throws NonExpressionException {
-		Value[] content = new Value[length() + 1];
-		System.arraycopy(content, 0, content, 0, length());
-		content[length()] = val.as(elemType());
-		return new ArrayValue(rules, content);
+		checkLength(length() + 1);
+		Value elem = val.as(elemType());
+		ArrayValue res = new ArrayValue(rules, content.append(rules, elem));
+		res.matched = stillMatched(elem);
+		return res;
 	}
 	
 	/**
@@ -307,7 +606,7 @@ public final class ArrayValue extends Value implements Iterable<Value> {
 	 */
 	public ArrayValue prepend(Value val) throws NonExpressionException {
 		Value[] content = new Value[length() + 1];
-		System.arraycopy(content, 0, content, 1, length());
+		System.arraycopy(raw(), 0, content, 1, length());
 		content[0] = val.as(elemType());
 		return new ArrayValue(rules, content);
 	}
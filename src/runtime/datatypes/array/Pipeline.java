@@ -0,0 +1,229 @@
+package runtime.datatypes.array;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+import building.expressions.abstractions.*;
+import building.types.specific.datatypes.*;
+import launching.*;
+import runtime.datatypes.*;
+
+/**
+ * A lazy chain of map-, filter- and take-stages over the elements of an {@link ArrayValue}.
+ *
+ * Adding a stage only returns a new {@link Pipeline}. The stages run, when a terminal operation like
+ * {@link #reduce(Value, BinaryOperator, boolean)} or {@link #count()} pulls the elements, or when the
+ * {@link ArrayValue} of {@link #toArray()} gets read. Every element passes all stages in a single
+ * fused pass, so that no array gets built in between.
+ *
+ * The result of {@link #toArray()} keeps every element, that got pulled from it. A {@link Pipeline}
+ * over it pulls them one by one, so the stages of both still run in one pass, but never twice for
+ * the same element.
+ */
+public final class Pipeline {
+	
+	/** The rules of {@link #toArray()}. */
+	private static final DataType RULES = new DataType(SingleType.VAR, false, Range.UNBOUNDED);
+	
+	/** The minimum number of elements, for which a reduction runs in parallel. */
+	private static final int PARALLEL_THRESHOLD = 1 << 14;
+	
+	/** The shared elements of the source. */
+	private final ArrayStorage source;
+	
+	private final Stage[] stages;
+	
+	private Pipeline(ArrayStorage source, Stage[] stages) {
+		this.source = source;
+		this.stages = stages;
+	}
+	
+	/**
+	 * Returns a {@link Pipeline} over the elements of the {@link ArrayValue}. If it is the unread
+	 * result of another {@link Pipeline}, its elements get pulled one at a time, and kept for every
+	 * later read.
+	 */
+	public static Pipeline of(ArrayValue a) {
+		return new Pipeline(a.storage().share(), new Stage[0]);
+	}
+	
+	/** Returns a {@link Pipeline}, that replaces every element with its image under the function. */
+	public Pipeline map(UnaryOperator<Value> f) {
+		return map(f, false);
+	}
+	
+	/**
+	 * Returns a {@link Pipeline}, that replaces every element with its image under the function.
+	 *
+	 * @param threadSafe tells, if the function runs no code of the program. See
+	 * {@link #reduce(Value, BinaryOperator, boolean)}.
+	 */
+	public Pipeline map(UnaryOperator<Value> f, boolean threadSafe) {
+		return then(new MapStage(f, threadSafe));
+	}
+	
+	/** Returns a {@link Pipeline}, that only keeps the elements that pass the test. */
+	public Pipeline filter(Predicate<Value> p) {
+		return then(new FilterStage(p));
+	}
+	
+	/** Returns a {@link Pipeline}, that stops after n elements. */
+	public Pipeline take(int n) {
+		if (n < 0)
+			throw new IllegalArgumentException("Cannot take " + n + " elements.");
+		return then(new TakeStage(n));
+	}
+	
+	private Pipeline then(Stage s) {
+		Stage[] res = Arrays.copyOf(stages, stages.length + 1);
+		res[stages.length] = s;
+		return new Pipeline(source, res);
+	}
+	
+	/**
+	 * Returns a var[], that runs this {@link Pipeline}, when it gets read. The stages have to keep
+	 * {@link MaybeValue#NULL} out of it.
+	 */
+	public ArrayValue toArray() {
+		return new ArrayValue(RULES, new ArrayStorage.PipeStorage(this));
+	}
+	
+	/**
+	 * Combines all elements from left to right, starting with the identity.
+	 *
+	 * @param threadSafe tells, if the operator is associative and runs no code of the program, as the
+	 * interpreter is single-threaded. If the launch-flag {@code --parallel-pipelines} is set, a long
+	 * {@link Pipeline}, whose stages are thread-safe as well, then gets reduced in the common
+	 * ForkJoinPool.
+	 */
+	public Value reduce(Value identity, BinaryOperator<Value> op, boolean threadSafe) {
+		if (threadSafe && Main.usesParallelPipelines() && isThreadSafe() && sourceLength() >= PARALLEL_THRESHOLD)
+			return parallel().reduce(identity, op);
+		Value[] acc = {identity};
+		forEach(v -> {
+			acc[0] = op.apply(acc[0], v);
+			return true;
+		});
+		return acc[0];
+	}
+	
+	/** Returns the number of elements, that pass all stages, without storing them. */
+	public int count() {
+		if (stages.length == 0)
+			return source.length();
+		int[] cnt = {0};
+		forEach(v -> {
+			cnt[0]++;
+			return true;
+		});
+		return cnt[0];
+	}
+	
+	/** Passes every element, that gets through all stages, to the sink, until it returns false. */
+	void forEach(Predicate<Value> sink) {
+		Cursor c = cursor();
+		for (Value v = c.next(); v != null && sink.test(v); v = c.next());
+	}
+	
+	/** Returns a new {@link Cursor} at the start of this {@link Pipeline}. */
+	Cursor cursor() {
+		return new Cursor();
+	}
+	
+	/**
+	 * Returns the unread result of another {@link Pipeline}, that this one reads from, or null if the
+	 * elements of the source are already known.
+	 */
+	private Pipeline unread() {
+		return source instanceof ArrayStorage.PipeStorage p && !p.isDone() ? p.pipeline : null;
+	}
+	
+	/** Returns the length of the first source in the chain, without running any stages. */
+	private int sourceLength() {
+		Pipeline p = unread();
+		return p != null ? p.sourceLength() : source.length();
+	}
+	
+	/** Tells, if all stages, including the ones of an unread source, run no code of the program. */
+	private boolean isThreadSafe() {
+		for (Stage s : stages) {
+			if (s instanceof MapStage m && !m.threadSafe || s instanceof FilterStage)
+				return false;
+		}
+		Pipeline p = unread();
+		return p == null || p.isThreadSafe();
+	}
+	
+	/**
+	 * Returns an ordered, parallel stream of the elements, that get through all stages. The stages of
+	 * an unread source get continued, as they are thread-safe too.
+	 */
+	private Stream<Value> parallel() {
+		Pipeline p = unread();
+		Stream<Value> res = p != null ? p.parallel() : IntStream.range(0, source.length()).parallel().mapToObj(source::get);
+		for (Stage s : stages) {
+			res = switch (s) {
+				case MapStage m -> res.map(m.f);
+				case FilterStage f -> res.filter(f.p);
+				case TakeStage t -> res.limit(t.n);
+			};
+		}
+		return res;
+	}
+	
+	/**
+	 * Pulls the elements, that get through all stages, one after another.
+	 *
+	 * A {@link TakeStage} ends the pass right after its last element, so that no further element of
+	 * the source gets mapped or tested.
+	 */
+	final class Cursor {
+		
+		private final int[] taken = new int[stages.length];
+		
+		/** The index of the next element in the {@link #source}. */
+		private int pos = 0;
+		
+		private boolean ended = false;
+		
+		private Cursor() {
+			for (Stage s : stages) {
+				if (s instanceof TakeStage t && t.n == 0)
+					ended = true;
+			}
+		}
+		
+		/** Returns the next element, or null if there is none. */
+		Value next() {
+			while (!ended && has(pos)) {
+				Value v = source.get(pos++);
+				boolean passed = true;
+				for (int s = 0; s < stages.length && passed; s++) {
+					switch (stages[s]) {
+						case MapStage m -> v = m.f.apply(v);
+						case FilterStage f -> passed = f.p.test(v);
+						case TakeStage t -> ended |= ++taken[s] == t.n;
+					}
+				}
+				if (passed)
+					return v;
+			}
+			ended = true;
+			return null;
+		}
+		
+		/** Tells, if the source has an element at the index. An unread result only runs up to it. */
+		private boolean has(int i) {
+			return source instanceof ArrayStorage.PipeStorage p ? p.has(i) : i < source.length();
+		}
+	}
+	
+	private static sealed interface Stage permits MapStage, FilterStage, TakeStage {}
+	
+	private static record MapStage(UnaryOperator<Value> f, boolean threadSafe) implements Stage {}
+	
+	private static record FilterStage(Predicate<Value> p) implements Stage {}
+	
+	private static record TakeStage(int n) implements Stage {}
+}
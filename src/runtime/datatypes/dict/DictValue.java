@@ -0,0 +1,150 @@
+package runtime.datatypes.dict;
+
+import static building.types.specific.datatypes.SingleType.*;
+
+import building.expressions.abstractions.interfaces.*;
+import building.expressions.normal.containers.*;
+import building.types.specific.datatypes.*;
+import errorhandeling.*;
+import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.numerical.*;
+import runtime.datatypes.textual.*;
+
+/**
+ * A dictionary like [1 -> "one", 2 -> "two"], that maps keys of any type to values of any type.
+ *
+ * Lookups through an {@link ArrayAccess} and the in-operator take O(1) on average, see
+ * {@link ValueTable}. Arrays and dicts cannot be keys, as they are mutable.
+ */
+public class DictValue extends Value {
+	
+	private ValueTable table;
+	
+	/** Creates an empty {@link DictValue}. */
+	public DictValue() {
+		this(new ValueTable(0));
+	}
+	
+	private DictValue(ValueTable table) {
+		super(DICT);
+		this.table = table;
+	}
+	
+	/**
+	 * Creates a {@link DictValue} from the keys and values at the same positions. A later duplicate
+	 * key overwrites the earlier one.
+	 *
+	 * @throws NonExpressionException if a key is an array or a dict.
+	 */
+	public static DictValue of(Value[] keys, Value[] vals) throws NonExpressionException {
+		assert keys.length == vals.length : "Every key needs a value.";
+		DictValue res = new DictValue(new ValueTable(keys.length));
+		for (int i = 0; i < keys.length; i++)
+			res.put(keys[i], vals[i]);
+		return res;
+	}
+	
+	/** Returns the value for the key, or null if there is none. */
+	public Value get(Value key) {
+		return table.get(key);
+	}
+	
+	/**
+	 * Stores the value for the key.
+	 *
+	 * @return the previous value, or null if there was none.
+	 * @throws NonExpressionException if the key is an array or a dict.
+	 */
+	public Value put(Value key, Value val) throws NonExpressionException {
+		if (key instanceof ArrayValue || key instanceof DictValue)
+			throw new NonExpressionException("InvalidKey", "The key " + key + " is mutable and cannot be used in a dict.");
+		if (table.isShared())
+			table = table.copy();
+		return table.put(key, val);
+	}
+	
+	/** Returns {@link BoolValue#TRUE} if this dict has a value for the key. */
+	public BoolValue containsKey(Value key) {
+		return BoolValue.valueOf(table.containsKey(key));
+	}
+	
+	/** Returns the number of entries. */
+	public int size() {
+		return table.size();
+	}
+	
+	/** Returns the keys in the order of their insertion. */
+	public ArrayValue keys() {
+		Value[] res = new Value[table.size()];
+		for (int i = 0; i < res.length; i++)
+			res[i] = table.keyAt(i);
+		return ArrayValue.newInstance(res);
+	}
+	
+	// CASTING--------------------------------------------------
+	
+	/**
+	 * A cast to an array returns the {@link #keys()}, so that a for-each-loop runs over them. A cast to
+	 * a dict shares the entries copy-on-write.
+	 */
+	@Override
+	public Value as(DataType t) throws NonExpressionException {
+		if (t.isArrayType())
+			return keys().as(t);
+		return switch (t.type) {
+			case VAR -> this;
+			case DICT -> new DictValue(table.share());
+			case BOOL -> BoolValue.valueOf(size() != 0); // isEmpty
+			case NR, INT -> IntValue.valueOf(size()); // size
+			case TEXT -> asText();
+			default -> ValueHolder.throwCastingExc(this, t);
+		};
+	}
+	
+	@Override
+	public TextValue asText() {
+		if (size() == 0)
+			return new TextValue("[]");
+		StringBuilder b = new StringBuilder();
+		b.append('[');
+		for (int i = 0; i < size(); i++) {
+			if (i > 0)
+				b.append(", ");
+			b.append(table.keyAt(i).asText().raw()).append(" -> ").append(table.valAt(i).asText().raw());
+		}
+		return new TextValue(b.append(']').toString());
+	}
+	
+	/** Two dicts are equal, if they have the same keys with the same values. */
+	@Override
+	public boolean valueCompare(Value v) {
+		if (!(v instanceof DictValue d) || d.size() != size())
+			return false;
+		for (int i = 0; i < size(); i++) {
+			Value other = d.get(table.keyAt(i));
+			if (other == null || !ValueTable.same(table.valAt(i), other))
+				return false;
+		}
+		return true;
+	}
+	
+	/** Only hashes the keys, as the values can be mutable. */
+	@Override
+	public int valueHash() {
+		int h = 0;
+		for (int i = 0; i < size(); i++)
+			h += ValueTable.hash(table.keyAt(i));
+		return h;
+	}
+	
+	@Override
+	public ValueTable raw() {
+		return table;
+	}
+	
+	@Override
+	public String toString() {
+		return asText().raw();
+	}
+}
@@ -0,0 +1,147 @@
+package runtime.datatypes.dict;
+
+import static building.types.specific.datatypes.SingleType.*;
+
+import building.expressions.abstractions.interfaces.*;
+import building.types.specific.datatypes.*;
+import errorhandeling.*;
+import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.numerical.*;
+import runtime.datatypes.textual.*;
+
+/**
+ * An immutable set like (set) [1, 2, 3], that holds every element once, in the order of their first
+ * occurrence.
+ *
+ * The in-operator takes O(1) on average, see {@link ValueTable}. Arrays and dicts cannot be
+ * elements, as they are mutable.
+ */
+public class SetValue extends Value {
+	
+	/** The empty {@link SetValue}. */
+	public static final SetValue EMPTY = new SetValue(new ValueTable(0));
+	
+	/** Maps every element to itself. */
+	private final ValueTable table;
+	
+	private SetValue(ValueTable table) {
+		super(SET);
+		this.table = table;
+	}
+	
+	/**
+	 * Creates a {@link SetValue} from the elements. Duplicates get dropped.
+	 *
+	 * @throws NonExpressionException if an element is an array or a dict.
+	 */
+	public static SetValue of(ArrayValue elements) throws NonExpressionException {
+		ValueTable res = new ValueTable(elements.length());
+		for (Value v : elements) {
+			if (v instanceof ArrayValue || v instanceof DictValue)
+				throw new NonExpressionException("InvalidElement", "The element " + v + " is mutable and cannot be in a set.");
+			res.put(v, v);
+		}
+		return new SetValue(res);
+	}
+	
+	/** Returns {@link BoolValue#TRUE} if this set contains the element. */
+	public BoolValue contains(Value element) {
+		return BoolValue.valueOf(table.containsKey(element));
+	}
+	
+	/** Returns the number of elements. */
+	public int size() {
+		return table.size();
+	}
+	
+	/** Returns the elements of this set, followed by the ones of the other set. */
+	public SetValue union(SetValue s) {
+		ValueTable res = new ValueTable(size() + s.size());
+		for (int i = 0; i < size(); i++)
+			res.put(table.keyAt(i), table.keyAt(i));
+		for (int i = 0; i < s.size(); i++)
+			res.put(s.table.keyAt(i), s.table.keyAt(i));
+		return new SetValue(res);
+	}
+	
+	/** Returns the elements of this set, that are also in the other one. */
+	public SetValue intersection(SetValue s) {
+		return select(s, true);
+	}
+	
+	/** Returns the elements of this set, that aren't in the other one. */
+	public SetValue difference(SetValue s) {
+		return select(s, false);
+	}
+	
+	/** Returns the elements of this set, for which the membership in the other one equals in. */
+	private SetValue select(SetValue s, boolean in) {
+		ValueTable res = new ValueTable(size());
+		for (int i = 0; i < size(); i++) {
+			Value v = table.keyAt(i);
+			if (s.table.containsKey(v) == in)
+				res.put(v, v);
+		}
+		return new SetValue(res);
+	}
+	
+	/** Returns the elements in the order of their first occurrence. */
+	public ArrayValue elements() {
+		Value[] res = new Value[size()];
+		for (int i = 0; i < res.length; i++)
+			res[i] = table.keyAt(i);
+		return ArrayValue.newInstance(res);
+	}
+	
+	// CASTING--------------------------------------------------
+	
+	/** A cast to an array returns the {@link #elements()}, so that a for-each-loop runs over them. */
+	@Override
+	public Value as(DataType t) throws NonExpressionException {
+		if (t.isArrayType())
+			return elements().as(t);
+		return switch (t.type) {
+			case VAR, SET -> this;
+			case BOOL -> BoolValue.valueOf(size() != 0); // isEmpty
+			case NR, INT -> IntValue.valueOf(size()); // size
+			case TEXT -> asText();
+			default -> ValueHolder.throwCastingExc(this, t);
+		};
+	}
+	
+	@Override
+	public TextValue asText() {
+		return elements().asText();
+	}
+	
+	/** Two sets are equal, if they have the same elements. */
+	@Override
+	public boolean valueCompare(Value v) {
+		if (!(v instanceof SetValue s) || s.size() != size())
+			return false;
+		for (int i = 0; i < size(); i++) {
+			if (!s.table.containsKey(table.keyAt(i)))
+				return false;
+		}
+		return true;
+	}
+	
+	@Override
+	public int valueHash() {
+		int h = 0;
+		for (int i = 0; i < size(); i++)
+			h += ValueTable.hash(table.keyAt(i));
+		return h;
+	}
+	
+	@Override
+	public ValueTable raw() {
+		return table;
+	}
+	
+	@Override
+	public String toString() {
+		return asText().raw();
+	}
+}
@@ -0,0 +1,178 @@
+package runtime.datatypes.dict;
+
+import java.util.*;
+
+import runtime.datatypes.*;
+import runtime.datatypes.numerical.*;
+
+/**
+ * A hash-table from {@link Value}s to {@link Value}s, that keeps the order of insertion.
+ *
+ * The entries lie densely in parallel arrays. An open-addressed index with linear probing points
+ * into them, so that a lookup is O(1) on average and allocates nothing.
+ *
+ * Two keys are the same, if they pass {@link Value#valueCompare(Value)} and either both are numbers
+ * or both have the same {@link Value#dataType}. So 1 and 2 / 2 are the same key, "1" and 1 aren't.
+ */
+public final class ValueTable {
+	
+	/** Marks an unused slot in the {@link #index}. */
+	private static final int FREE = -1;
+	
+	/** The positions of the entries, or {@link #FREE}. Its length is a power of two. */
+	private int[] index;
+	
+	private Value[] keys;
+	private Value[] vals;
+	private int[] hashes;
+	
+	private int size = 0;
+	
+	/** Tells, if another {@link DictValue} still reads this {@link ValueTable}. (Copy-on-write) */
+	private boolean shared = false;
+	
+	/** Creates an empty {@link ValueTable} for the expected number of entries. */
+	public ValueTable(int expected) {
+		int cap = Math.max(4, expected);
+		keys = new Value[cap];
+		vals = new Value[cap];
+		hashes = new int[cap];
+		index = newIndex(cap);
+	}
+	
+	/** Returns the number of entries. */
+	public int size() {
+		return size;
+	}
+	
+	/** Returns the value for the key, or null if there is none. */
+	public Value get(Value key) {
+		int pos = find(key, hash(key));
+		return pos == FREE ? null : vals[pos];
+	}
+	
+	/** Returns true, if the key has a value. */
+	public boolean containsKey(Value key) {
+		return find(key, hash(key)) != FREE;
+	}
+	
+	/**
+	 * Stores the value for the key.
+	 *
+	 * @return the previous value, or null if there was none.
+	 */
+	public Value put(Value key, Value val) {
+		assert !shared : "A shared table has to be copied before a change.";
+		int h = hash(key);
+		int pos = find(key, h);
+		if (pos != FREE) {
+			Value prev = vals[pos];
+			vals[pos] = val;
+			return prev;
+		}
+		if (size == keys.length)
+			grow();
+		keys[size] = key;
+		vals[size] = val;
+		hashes[size] = h;
+		insert(index, h, size++);
+		return null;
+	}
+	
+	/** Returns the key of the nth entry in the order of insertion. */
+	public Value keyAt(int n) {
+		Objects.checkIndex(n, size);
+		return keys[n];
+	}
+	
+	/** Returns the value of the nth entry in the order of insertion. */
+	public Value valAt(int n) {
+		Objects.checkIndex(n, size);
+		return vals[n];
+	}
+	
+	/** Marks this {@link ValueTable} as read by another owner and returns it. */
+	ValueTable share() {
+		shared = true;
+		return this;
+	}
+	
+	/** Tells, if this has to be copied before the next change. */
+	boolean isShared() {
+		return shared;
+	}
+	
+	/** Returns an unshared copy of this {@link ValueTable}. */
+	ValueTable copy() {
+		ValueTable res = new ValueTable(size);
+		System.arraycopy(keys, 0, res.keys, 0, size);
+		System.arraycopy(vals, 0, res.vals, 0, size);
+		System.arraycopy(hashes, 0, res.hashes, 0, size);
+		res.size = size;
+		if (index.length == res.index.length)
+			res.index = index.clone();
+		else {
+			for (int i = 0; i < size; i++)
+				insert(res.index, hashes[i], i);
+		}
+		return res;
+	}
+	
+	/** Returns the position of the key in the entries, or {@link #FREE}. */
+	private int find(Value key, int h) {
+		int mask = index.length - 1;
+		for (int slot = h & mask;; slot = (slot + 1) & mask) {
+			int pos = index[slot];
+			if (pos == FREE || hashes[pos] == h && same(keys[pos], key))
+				return pos;
+		}
+	}
+	
+	/** Doubles the capacity of the entries and rebuilds the {@link #index}. */
+	private void grow() {
+		int cap = keys.length * 2;
+		keys = Arrays.copyOf(keys, cap);
+		vals = Arrays.copyOf(vals, cap);
+		hashes = Arrays.copyOf(hashes, cap);
+		index = newIndex(cap);
+		for (int i = 0; i < size; i++)
+			insert(index, hashes[i], i);
+	}
+	
+	/** Returns an empty index, that stays at most half full with the capacity. */
+	private static int[] newIndex(int capacity) {
+		int[] res = new int[Integer.highestOneBit(capacity - 1) << 2];
+		Arrays.fill(res, FREE);
+		return res;
+	}
+	
+	/** Puts the position into the first free slot for the hash. */
+	private static void insert(int[] index, int h, int pos) {
+		int mask = index.length - 1;
+		int slot = h & mask;
+		while (index[slot] != FREE)
+			slot = (slot + 1) & mask;
+		index[slot] = pos;
+	}
+	
+	/**
+	 * Returns a hash, that is equal for the same keys. Numbers get hashed by their double-value, so
+	 * that an {@link IntValue} and an equal {@link DecimalValue} collide.
+	 */
+	static int hash(Value key) {
+		int h;
+		if (key instanceof NumberValue n) {
+			double d = n.doubleValue();
+			h = d == 0 ? 0 : Double.hashCode(d);
+		} else
+			h = key.valueHash();
+		return h ^ (h >>> 16);
+	}
+	
+	/** Tells, if both {@link Value}s are the same key. */
+	static boolean same(Value a, Value b) {
+		if (a instanceof NumberValue)
+			return b instanceof NumberValue && a.valueCompare(b);
+		return a.dataType == b.dataType && a.valueCompare(b);
+	}
+}
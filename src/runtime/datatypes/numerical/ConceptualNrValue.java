@@ -196,6 +196,11 @@ public abstract class ConceptualNrValue extends NumberValue {
 		
 	};
 	
+	@Override
+	public double doubleValue() {
+		return (Double) raw();
+	}
+	
 	@Override
 	public Value as(DataType t) throws NonExpressionException {
 		if (t.isArrayType())
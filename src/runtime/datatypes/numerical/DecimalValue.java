@@ -16,58 +16,86 @@ import runtime.datatypes.*;
 import runtime.datatypes.textual.*;
 import runtime.natives.*;
 
-/** An arbitrary Decimal Number with 100 digits of precision. */
+/**
+ * An arbitrary Decimal Number with 100 digits of precision.
+ *
+ * The fraction is stored in longs, as long as its parts fit, and gets reduced lazily: Only if its
+ * parts grow beyond {@link #REDUCE_BITS}, or if it gets printed or hashed. An unreduced fraction
+ * still has the exact same value, so every result stays the same.
+ */
 public final class DecimalValue extends NumberValue {
 	
-	/**
-	 * The Numerator
-	 *
-	 * <pre>
-	 * Special case:
-	 *
-	 * - Can never be {@link BigInteger#ZERO},
-	 *   because then it would be {@link NumberValue#ZERO}.
-	 * </pre>
-	 */
-	protected final BigInteger num;
+	/** Fractions whose parts grow beyond this bit-length get reduced immediately. */
+	private static final int REDUCE_BITS = 128;
 	
 	/**
-	 * The Denominator
+	 * The (possibly unreduced) fraction. Gets replaced by its reduced form on demand.
 	 *
 	 * <pre>
 	 * Special cases:
 	 *
-	 * - Can never be {@link BigInteger#ONE},
+	 * - The numerator can never be zero,
+	 *   because then it would be {@link NumberValue#ZERO}.
+	 *
+	 * - The denominator can never divide the numerator,
 	 *   because then it would be an {@link IntValue}.
 	 *
-	 * - Can never be {@link BigInteger#ZERO},
-	 *   because then it would be {@link ConceptualNrValue#NAN}.
+	 * - The denominator is always positive.
 	 * </pre>
 	 */
-	protected final BigInteger denom;
+	private Fraction frac;
 	
-	/** Produces a rational Number. This fraction has to be already reduced. */
-	protected DecimalValue(BigInteger numerator, BigInteger denominator) {
+	/** Produces a rational Number from longs. The denominator has to be positive. */
+	DecimalValue(long numerator, long denominator) {
 		super(NR);
-		// Assertions
-		assert !denominator.equals(BigInteger.ZERO) : "Denominator cannot be zero, use NaN instead.";
-		assert !numerator.equals(BigInteger.ZERO) : "Nominator cannot be zero, use ZERO instead.";
-		assert !denominator.equals(BigInteger.ONE) : "Denominator cannot be one, use an IntValue instead.";
-		// Length check
-		if (getDigitCount(numerator) > MAX_LENGTH || getDigitCount(denominator) > MAX_LENGTH)
-			throw new ArithmeticException("Numbers cannot extend 100 digits.");
-		// Sign Check I: -x / -y = x / y
-		if (numerator.compareTo(BigInteger.ZERO) < 0 && denominator.compareTo(BigInteger.ZERO) < 0) {
-			numerator = numerator.abs();
-			denominator = denominator.abs();
-		}
-		// Sign Check II: x / -y = -x / y
-		else if (numerator.compareTo(BigInteger.ZERO) > 0 && denominator.compareTo(BigInteger.ZERO) < 0) {
-			numerator = numerator.negate();
-			denominator = denominator.abs();
+		assert denominator > 0 : "Denominator has to be positive.";
+		assert numerator % denominator != 0 : "Use an IntValue or ZERO instead.";
+		this.frac = new Fraction(numerator, denominator, false);
+	}
+	
+	/** Produces a rational Number from BigIntegers. The denominator has to be positive. */
+	DecimalValue(BigInteger numerator, BigInteger denominator) {
+		super(NR);
+		assert denominator.signum() > 0 : "Denominator has to be positive.";
+		assert numerator.remainder(denominator).signum() != 0 : "Use an IntValue or ZERO instead.";
+		Fraction f = Fraction.of(numerator, denominator, false);
+		if (f.isBig() && Math.max(f.bigNum.bitLength(), f.bigDenom.bitLength()) > REDUCE_BITS) {
+			f = f.reduce();
+			// Length check
+			if (f.isBig() && (getDigitCount(f.bigNum) > MAX_LENGTH || getDigitCount(f.bigDenom) > MAX_LENGTH))
+				throw new ArithmeticException("Numbers cannot extend 100 digits.");
 		}
-		this.num = numerator;
-		this.denom = denominator;
+		this.frac = f;
+	}
+	
+	/** Returns the reduced form of the fraction and keeps it. */
+	private Fraction reduced() {
+		if (!frac.reduced)
+			frac = frac.reduce();
+		return frac;
+	}
+	
+	/** Returns the numerator. (Not necessarily reduced) */
+	BigInteger num() {
+		return frac.num();
+	}
+	
+	/** Returns the denominator. (Not necessarily reduced) */
+	BigInteger denom() {
+		return frac.denom();
+	}
+	
+	@Override
+	public double doubleValue() {
+		return raw().doubleValue();
+	}
+	
+	/** Returns 1 / this. */
+	NumberValue reciprocal() {
+		Fraction f = frac;
+		if (f.isBig())
+			return create(f.bigDenom, f.bigNum);
+		return create(f.denom, f.num);
 	}
 	
 	/**
@@ -88,7 +116,8 @@ public final class DecimalValue extends NumberValue {
 		StringBuilder sb = new StringBuilder();
 		if (isNegative())
 			sb.append('-');
-		BigInteger n = num.abs(), d = denom.abs();
+		Fraction f = reduced();
+		BigInteger n = f.num().abs(), d = f.denom();
 		BigInteger rem = n.remainder(d);
 		sb.append(n.divide(d));
 		sb.append('.');
@@ -115,7 +144,8 @@ public final class DecimalValue extends NumberValue {
 	 * Gets used in {@link SystemFunctions}.
 	 */
 	public String asRational() {
-		return num + "/" + denom;
+		Fraction f = reduced();
+		return f.num() + "/" + f.denom();
 	}
 	
 	@Override
@@ -126,7 +156,8 @@ public final class DecimalValue extends NumberValue {
 			case VAR, NR:
 				yield this;
 			case INT:
-				yield new IntValue(num.divide(denom));
+				Fraction f = frac;
+				yield f.isBig() ? IntValue.valueOf(f.bigNum.divide(f.bigDenom)) : IntValue.valueOf(f.num / f.denom);
 			case TEXT:
 				String s = fractionToDecimal();
 				if (s.matches("(\\d+)\\.((([1-9]+)(0+$))|(0+$))"))
@@ -143,18 +174,63 @@ public final class DecimalValue extends NumberValue {
 		return Output.debugMode ? getClass().getSimpleName() : fractionToDecimal();
 	}
 	
+	/** Hashes the reduced fraction, so that it matches {@link #equals(Object)}. */
+	@Override
+	public int valueHash() {
+		Fraction f = reduced();
+		if (f.isBig())
+			return 31 * f.bigNum.hashCode() + f.bigDenom.hashCode();
+		return 31 * Long.hashCode(f.num) + Long.hashCode(f.denom);
+	}
+	
+	/** Compares the values of two {@link DecimalValue}s by cross-multiplication. */
+	final int compareTo(DecimalValue v) {
+		Fraction f = frac, g = v.frac;
+		if (!f.isBig() && !g.isBig()) {
+			try {
+				return Long.compare(Math.multiplyExact(f.num, g.denom), Math.multiplyExact(g.num, f.denom));
+			} catch (ArithmeticException overflow) {
+				// Fall through to BigInteger
+			}
+		}
+		return f.num().multiply(g.denom()).compareTo(g.num().multiply(f.denom()));
+	}
+	
 	// Operations
 	
 	@Override
 	public NumberValue add(NumberValue v) {
+		Fraction f = frac;
 		if (v instanceof DecimalValue d) {
-			// Fast case: Equals denoms
-			if (denom.equals(d.denom))
-				return create(num.add(d.num), denom);
-			// Common denom, then add
-			return create(num.multiply(d.denom).add(d.num.multiply(denom)), denom.multiply(d.denom));
+			Fraction g = d.frac;
+			if (!f.isBig() && !g.isBig()) {
+				try {
+					// Fast case: Equals denoms
+					if (f.denom == g.denom)
+						return create(Math.addExact(f.num, g.num), f.denom);
+					// Common denom, then add
+					return create(Math.addExact(Math.multiplyExact(f.num, g.denom), Math.multiplyExact(g.num, f.denom)),
+							Math.multiplyExact(f.denom, g.denom));
+				} catch (ArithmeticException overflow) {
+					// Fall through to BigInteger
+				}
+			}
+			BigInteger fd = f.denom(), gd = g.denom();
+			if (fd.equals(gd))
+				return create(f.num().add(g.num()), fd);
+			return create(f.num().multiply(gd).add(g.num().multiply(fd)), fd.multiply(gd));
+		}
+		if (v instanceof IntValue i) {
+			if (!f.isBig() && i.fitsLong()) {
+				try {
+					return create(Math.addExact(f.num, Math.multiplyExact(i.longValue(), f.denom)), f.denom);
+				} catch (ArithmeticException overflow) {
+					// Fall through to BigInteger
+				}
+			}
+			return create(f.num().add(i.raw().multiply(f.denom())), f.denom());
 		}
-		return v.add(this); // add() in IntVal or ConceptualNrVal
+		return v.add(this); // add() in ConceptualNrVal
 	}
 	
 	@Override
@@ -164,9 +240,29 @@ public final class DecimalValue extends NumberValue {
 	
 	@Override
 	public NumberValue mult(NumberValue v) {
-		if (v instanceof DecimalValue d)
-			return create(num.multiply(d.num), denom.multiply(d.denom));
-		return v.mult(this); // mult() in IntVal or ConceptualNrVal
+		Fraction f = frac;
+		if (v instanceof DecimalValue d) {
+			Fraction g = d.frac;
+			if (!f.isBig() && !g.isBig()) {
+				try {
+					return create(Math.multiplyExact(f.num, g.num), Math.multiplyExact(f.denom, g.denom));
+				} catch (ArithmeticException overflow) {
+					// Fall through to BigInteger
+				}
+			}
+			return create(f.num().multiply(g.num()), f.denom().multiply(g.denom()));
+		}
+		if (v instanceof IntValue i) {
+			if (!f.isBig() && i.fitsLong()) {
+				try {
+					return create(Math.multiplyExact(f.num, i.longValue()), f.denom);
+				} catch (ArithmeticException overflow) {
+					// Fall through to BigInteger
+				}
+			}
+			return create(f.num().multiply(i.raw()), f.denom());
+		}
+		return v.mult(this); // mult() in ConceptualNrVal
 	}
 	
 	@Override
@@ -174,12 +270,21 @@ public final class DecimalValue extends NumberValue {
 		if (v.equals(ZERO) || v == NAN || v.isInfinite())
 			return NAN;
 		if (v instanceof DecimalValue d)
-			return mult(create(d.denom, d.num));
-		if (v instanceof IntValue i)
-			return mult(create(BigInteger.ONE, i.value));
+			return mult(d.reciprocal());
+		if (v instanceof IntValue i) {
+			Fraction f = frac;
+			if (!f.isBig() && i.fitsLong()) {
+				try {
+					return create(f.num, Math.multiplyExact(f.denom, i.longValue()));
+				} catch (ArithmeticException overflow) {
+					// Fall through to BigInteger
+				}
+			}
+			return create(f.num(), f.denom().multiply(i.raw()));
+		}
 		throw new AssertionError("Unimplemented Case.");
 	}
-	
+
 	@Override
 	public NumberValue mod(NumberValue v) {
 		if (v.equals(ZERO) || v == NAN || v.isInfinite())
@@ -200,9 +305,21 @@ public final class DecimalValue extends NumberValue {
 		if (v == POS_INF)
 			return isPositive() ? POS_INF : NAN;
 		if (v instanceof DecimalValue d)
-			create(BigDecimalMath.pow(raw(), d.raw(), PRECISION));
-		if (v instanceof IntValue i)
-			return create(BigDecimalMath.pow(raw(), new BigDecimal(i.value), PRECISION));
+			return create(BigDecimalMath.pow(raw(), d.raw(), PRECISION));
+		if (v instanceof IntValue i) {
+			if (i.fitsLong() && i.longValue() >= -Integer.MAX_VALUE && i.longValue() <= Integer.MAX_VALUE) {
+				int e = (int) i.longValue();
+				Fraction f = frac;
+				try {
+					return e > 0 ? create(f.num().pow(e), f.denom().pow(e)) : create(f.denom().pow(-e), f.num().pow(-e));
+				} catch (ArithmeticException tooLong) {
+					// Round, like for any other exponent
+				}
+			}
+			if (i.isNegative()) // BigDecimalMath cannot negate Long.MIN_VALUE
+				return ONE.div(pow(i.negate()));
+			return create(BigDecimalMath.pow(raw(), new BigDecimal(i.raw()), PRECISION));
+		}
 		throw new AssertionError("Unimplemented Case.");
 	}
 	
@@ -216,12 +333,87 @@ public final class DecimalValue extends NumberValue {
 		if (v instanceof DecimalValue d)
 			return create(BigDecimalMath.root(d.raw(), raw(), PRECISION));
 		if (v instanceof IntValue i)
-			return create(BigDecimalMath.root(new BigDecimal(i.value), raw(), PRECISION));
+			return create(BigDecimalMath.root(new BigDecimal(i.raw()), raw(), PRECISION));
 		throw new AssertionError("Unimplemented Case.");
 	}
 	
+	/** Returns the n'th root of this, if it is a fraction of integer roots, or null otherwise. */
+	NumberValue rootExact(int n) {
+		Fraction f = reduced();
+		IntValue num = IntValue.valueOf(f.num()).rootExact(n);
+		if (num == null)
+			return null;
+		IntValue denom = IntValue.valueOf(f.denom()).rootExact(n);
+		return denom == null ? null : create(num.raw(), denom.raw());
+	}
+	
 	@Override
 	public BigDecimal raw() {
-		return new BigDecimal(num).divide(new BigDecimal(denom), PRECISION);
+		Fraction f = frac;
+		return new BigDecimal(f.num()).divide(new BigDecimal(f.denom()), PRECISION);
+	}
+	
+	/** An immutable pair of numerator and denominator. The denominator is always positive. */
+	private static final class Fraction {
+		
+		/** The parts, if they fit into longs. Only valid, if {@link #bigNum} is null. */
+		final long num, denom;
+		
+		/** The parts, if they don't fit into longs. Null otherwise. */
+		final BigInteger bigNum, bigDenom;
+		
+		/** Tells, if this fraction is known to be fully reduced. */
+		final boolean reduced;
+		
+		Fraction(long num, long denom, boolean reduced) {
+			this.num = num;
+			this.denom = denom;
+			this.bigNum = null;
+			this.bigDenom = null;
+			this.reduced = reduced;
+		}
+		
+		private Fraction(BigInteger num, BigInteger denom, boolean reduced) {
+			this.num = 0;
+			this.denom = 0;
+			this.bigNum = num;
+			this.bigDenom = denom;
+			this.reduced = reduced;
+		}
+		
+		/** Creates a {@link Fraction}, that uses longs if possible. */
+		static Fraction of(BigInteger num, BigInteger denom, boolean reduced) {
+			if (num.bitLength() < Long.SIZE && denom.bitLength() < Long.SIZE)
+				return new Fraction(num.longValue(), denom.longValue(), reduced);
+			return new Fraction(num, denom, reduced);
+		}
+		
+		boolean isBig() { return bigNum != null; }
+		
+		BigInteger num() {
+			return bigNum != null ? bigNum : BigInteger.valueOf(num);
+		}
+		
+		BigInteger denom() {
+			return bigDenom != null ? bigDenom : BigInteger.valueOf(denom);
+		}
+		
+		/** Returns the reduced form of this {@link Fraction}. */
+		Fraction reduce() {
+			if (reduced)
+				return this;
+			if (bigNum != null) {
+				BigInteger gcd = bigNum.gcd(bigDenom);
+				return of(bigNum.divide(gcd), bigDenom.divide(gcd), true);
+			}
+			long a = num, b = denom;
+			while (b != 0) {
+				long t = a % b;
+				a = b;
+				b = t;
+			}
+			long gcd = Math.abs(a);
+			return new Fraction(num / gcd, denom / gcd, true);
+		}
 	}
 }
@@ -0,0 +1,106 @@
+package runtime.datatypes.numerical;
+
+import static building.types.specific.datatypes.SingleType.*;
+import static runtime.datatypes.numerical.ConceptualNrValue.*;
+
+import java.math.*;
+
+import building.expressions.abstractions.interfaces.*;
+import building.types.specific.datatypes.*;
+import errorhandeling.*;
+import runtime.datatypes.*;
+import runtime.datatypes.textual.*;
+
+/**
+ * A non-integer number, backed by a hardware double. Replaces the {@link DecimalValue} in
+ * {@link Numeric#FAST}.
+ *
+ * Every result goes through {@link NumberValue#create(double)}, so IEEE NaN and infinities become
+ * the {@link ConceptualNrValue}s and integral results become {@link IntValue}s. A division by zero
+ * stays {@link ConceptualNrValue#NAN}, as in the exact mode.
+ */
+public final class DoubleValue extends NumberValue {
+	
+	/** The value. Never NaN, infinite or integral. */
+	public final double value;
+	
+	DoubleValue(double value) {
+		super(NR);
+		assert Double.isFinite(value) && value != Math.rint(value) : "Use a ConceptualNrValue or IntValue instead.";
+		this.value = value;
+	}
+	
+	@Override
+	public double doubleValue() {
+		return value;
+	}
+	
+	@Override
+	public Value as(DataType t) throws NonExpressionException {
+		if (t.isArrayType())
+			ValueHolder.throwCastingExc(this, t);
+		return switch (t.type) {
+			case VAR, NR -> this;
+			case INT -> IntValue.valueOf((long) value);
+			case TEXT -> new TextValue(toString());
+			default -> ValueHolder.throwCastingExc(this, t);
+		};
+	}
+	
+	@Override
+	public String toString() {
+		return BigDecimal.valueOf(value).toPlainString();
+	}
+	
+	@Override
+	public int valueHash() {
+		return Double.hashCode(value);
+	}
+	
+	// Operations
+	
+	@Override
+	public NumberValue add(NumberValue v) {
+		return create(value + v.doubleValue());
+	}
+	
+	@Override
+	public NumberValue sub(NumberValue v) {
+		return create(value - v.doubleValue());
+	}
+	
+	@Override
+	public NumberValue mult(NumberValue v) {
+		return create(value * v.doubleValue());
+	}
+	
+	@Override
+	public NumberValue div(NumberValue v) {
+		if (v.equals(ZERO))
+			return NAN;
+		return create(value / v.doubleValue());
+	}
+	
+	@Override
+	public NumberValue mod(NumberValue v) {
+		if (v.equals(ZERO) || v.isInfinite())
+			return NAN;
+		return create(value % v.doubleValue());
+	}
+	
+	@Override
+	public NumberValue pow(NumberValue v) {
+		return create(Math.pow(value, v.doubleValue()));
+	}
+	
+	/** Calculates the n'th root from v. (this = n) */
+	@Override
+	public NumberValue root(NumberValue v) {
+		return create(Math.pow(v.doubleValue(), 1 / value));
+	}
+	
+	@Override
+	public Double raw() {
+		return value;
+	}
+}
@@ -9,6 +9,7 @@ import building.expressions.abstractions.interfaces.*;
 import building.types.specific.datatypes.*;
 import ch.obermuhlner.math.big.*;
 import errorhandeling.*;
+import launching.*;
 import runtime.datatypes.*;
 import runtime.datatypes.array.*;
 import runtime.datatypes.textual.*;
@@ -16,49 +17,123 @@ import runtime.datatypes.textual.*;
 /**
  * An Integer-Value with up to 100 digits.
  *
+ * Every value that fits into a long is stored as a primitive {@link #small}. Only bigger values use
+ * a {@link BigInteger}. The arithmetic stays on longs, until an operation overflows.
+ *
  * @see DataType#INT
  */
 public final class IntValue extends NumberValue {
 	
-	public final BigInteger value;
+	/** The value, if {@link #big} is null. */
+	private final long small;
+	
+	/** The value, if it doesn't fit into a long. Null otherwise. */
+	private final BigInteger big;
 	
-	/** Produces a {@link IntValue} from a {@link Long}. */
+	/** Produces a {@link IntValue} from a {@link Long}. Prefer {@link #valueOf(long)}. */
 	public IntValue(long value) {
-		this(BigInteger.valueOf(value));
+		super(INT);
+		this.small = value;
+		this.big = null;
 	}
 	
-	/** Produces a {@link IntValue} from a {@link BigInteger}. */
+	/** Produces a {@link IntValue} from a {@link BigInteger}. Prefer {@link #valueOf(BigInteger)}. */
 	public IntValue(BigInteger value) {
 		super(INT);
-		this.value = value;
+		if (value.bitLength() < Long.SIZE) {
+			this.small = value.longValue();
+			this.big = null;
+		} else {
+			this.small = 0;
+			this.big = value;
+		}
+	}
+	
+	/** Returns an {@link IntValue} for a long. Small values are cached. */
+	public static IntValue valueOf(long value) {
+		if (value >= Cache.LOW && value <= Cache.HIGH)
+			return Cache.VALUES[(int) value - Cache.LOW];
+		return new IntValue(value);
+	}
+	
+	/** Returns an {@link IntValue} for a {@link BigInteger}. Small values are cached. */
+	public static IntValue valueOf(BigInteger value) {
+		if (value.bitLength() < Long.SIZE)
+			return valueOf(value.longValue());
+		return new IntValue(value);
+	}
+	
+	/** Holds the cached {@link IntValue}s, which get created on first use. */
+	private static final class Cache {
+		
+		static final int LOW = -128;
+		static final int HIGH = 1024;
+		static final IntValue[] VALUES = new IntValue[HIGH - LOW + 1];
+		
+		static {
+			for (int i = 0; i < VALUES.length; i++)
+				VALUES[i] = new IntValue(LOW + i);
+		}
 	}
 	
 	/** Returns true if this number is even. */
 	public final boolean isEven() { return !isOdd(); }
 	
 	/** Returns true if this number is odd. */
-	public final boolean isOdd() { return value.testBit(0); }
+	public final boolean isOdd() { return big == null ? (small & 1) != 0 : big.testBit(0); }
+	
+	/**
+	 * Returns this value as an int.
+	 *
+	 * @throws ArithmeticException if it doesn't fit into an int.
+	 */
+	public int intValueExact() {
+		return big == null ? Math.toIntExact(small) : big.intValueExact();
+	}
+	
+	/** Returns true, if this value is stored as a long. */
+	public final boolean fitsLong() { return big == null; }
+	
+	/** Returns the value as a long. Only valid, if {@link #fitsLong()} is true. */
+	public final long longValue() { return small; }
+	
+	@Override
+	public double doubleValue() {
+		return big == null ? small : big.doubleValue();
+	}
+	
+	/** Compares the values of two {@link IntValue}s. */
+	final int compareTo(IntValue i) {
+		if (big == null && i.big == null)
+			return Long.compare(small, i.small);
+		return raw().compareTo(i.raw());
+	}
 	
 	@Override
 	public Value as(DataType t) throws NonExpressionException {
 		if (t.isArrayType()) {
-			final String line = value.toString();
+			final String line = toString();
 			IntValue[] intArray = new IntValue[line.length()];
 			for (int i = 0; i < intArray.length; i++)
-				intArray[i] = new IntValue(Character.getNumericValue(line.charAt(i)));
+				intArray[i] = valueOf(Character.getNumericValue(line.charAt(i)));
 			return new ArrayValue(t, intArray);
 		}
 		return switch (t.type) {
 			case VAR, INT, NR -> this;
-			case TEXT -> new TextValue(value.toString());
+			case TEXT -> new TextValue(toString());
 			default -> ValueHolder.throwCastingExc(this, t);
 		};
 	}
 	
+	@Override
+	public int valueHash() {
+		return big == null ? Long.hashCode(small) : big.hashCode();
+	}
+	
 	/** This should only get called in debugging scenarios. */
 	@Override
 	public String toString() {
-		return value.toString();
+		return big == null ? Long.toString(small) : big.toString();
 	}
 	
 	@Override
@@ -66,9 +141,19 @@ public final class IntValue extends NumberValue {
 		if (v == NAN || v.isInfinite())
 			return v;
 		if (v instanceof DecimalValue d)
-			return create(value.multiply(d.denom).add(d.num), d.denom);
-		if (v instanceof IntValue i)
-			return new IntValue(value.add(i.value));
+			return d.add(this);
+		if (v instanceof DoubleValue d)
+			return d.add(this);
+		if (v instanceof IntValue i) {
+			if (big == null && i.big == null) {
+				try {
+					return valueOf(Math.addExact(small, i.small));
+				} catch (ArithmeticException overflow) {
+					// Fall through to BigInteger
+				}
+			}
+			return valueOf(raw().add(i.raw()));
+		}
 		throw new AssertionError("Unimplemented Case.");
 	}
 	
@@ -86,9 +171,19 @@ public final class IntValue extends NumberValue {
 		if (v.isInfinite())
 			return isPositive() ? v : v.negate();
 		if (v instanceof DecimalValue d)
-			return create(value.multiply(d.num), d.denom);
-		if (v instanceof IntValue i)
-			return new IntValue(value.multiply(i.value));
+			return d.mult(this);
+		if (v instanceof DoubleValue d)
+			return d.mult(this);
+		if (v instanceof IntValue i) {
+			if (big == null && i.big == null) {
+				try {
+					return valueOf(Math.multiplyExact(small, i.small));
+				} catch (ArithmeticException overflow) {
+					// Fall through to BigInteger
+				}
+			}
+			return valueOf(raw().multiply(i.raw()));
+		}
 		throw new AssertionError("Unimplemented Case.");
 	}
 	
@@ -99,9 +194,20 @@ public final class IntValue extends NumberValue {
 		if (v == NAN || v.isInfinite())
 			return NAN;
 		if (v instanceof DecimalValue d)
-			return mult(create(d.denom, d.num));
-		if (v instanceof IntValue i)
-			return create(value, i.value);
+			return mult(d.reciprocal());
+		if (v instanceof DoubleValue d)
+			return create(doubleValue() / d.value);
+		if (v instanceof IntValue i) {
+			if (big == null && i.big == null && i.small != 0) {
+				// Exact division of longs. (MIN_VALUE / -1 would overflow)
+				if (small % i.small == 0 && i.small != -1)
+					return valueOf(small / i.small);
+				// Skips the fraction in BigIntegers
+				if (small % i.small != 0 && Main.getNumeric() == Numeric.FAST)
+					return create((double) small / i.small);
+			}
+			return create(raw(), i.raw());
+		}
 		throw new AssertionError("Unimplemented Case.");
 	}
 	
@@ -110,9 +216,14 @@ public final class IntValue extends NumberValue {
 		if (v.equals(ZERO) || v == NAN || v.isInfinite())
 			return NAN;
 		if (v instanceof DecimalValue d)
-			return create(new BigDecimal(value).remainder(d.raw()));
-		if (v instanceof IntValue i)
-			return new IntValue(value.remainder(i.value));
+			return create(new BigDecimal(raw()).remainder(d.raw()));
+		if (v instanceof DoubleValue d)
+			return create(doubleValue() % d.value);
+		if (v instanceof IntValue i) {
+			if (big == null && i.big == null)
+				return valueOf(small % i.small);
+			return valueOf(raw().remainder(i.raw()));
+		}
 		throw new AssertionError("Unimplemented Case.");
 	}
 	
@@ -126,13 +237,39 @@ public final class IntValue extends NumberValue {
 			return ZERO;
 		if (v == POS_INF)
 			return isPositive() ? POS_INF : NAN;
+		if (Main.getNumeric() == Numeric.FAST && !(v instanceof IntValue)) // Integers stay exact
+			return create(Math.pow(doubleValue(), v.doubleValue()));
 		if (v instanceof DecimalValue d)
-			create(BigDecimalMath.pow(new BigDecimal(value), d.raw(), PRECISION));
-		if (v instanceof IntValue i)
-			return create(BigDecimalMath.pow(new BigDecimal(value), new BigDecimal(i.value), PRECISION));
+			return create(BigDecimalMath.pow(new BigDecimal(raw()), d.raw(), PRECISION));
+		if (v instanceof IntValue i) {
+			if (i.big == null && i.small >= -Integer.MAX_VALUE && i.small <= Integer.MAX_VALUE)
+				return i.small > 0 ? powExact((int) i.small) : ONE.div(powExact((int) -i.small));
+			if (i.isNegative()) // BigDecimalMath cannot negate Long.MIN_VALUE
+				return ONE.div(pow(i.negate()));
+			return create(BigDecimalMath.pow(new BigDecimal(raw()), new BigDecimal(i.raw()), PRECISION));
+		}
 		throw new AssertionError("Unimplemented Case.");
 	}
 	
+	/** Raises this to a non-negative exponent by square-and-multiply, in longs as long as possible. */
+	IntValue powExact(int e) {
+		if (big == null) {
+			long res = 1, base = small;
+			try {
+				for (int k = e; k > 0; k >>= 1) {
+					if ((k & 1) != 0)
+						res = Math.multiplyExact(res, base);
+					if (k > 1)
+						base = Math.multiplyExact(base, base);
+				}
+				return valueOf(res);
+			} catch (ArithmeticException overflow) {
+				// Fall through to BigInteger
+			}
+		}
+		return valueOf(raw().pow(e));
+	}
+	
 	/**
 	 * Calculates the n'th root from v. (this = n)
 	 */
@@ -146,23 +283,82 @@ public final class IntValue extends NumberValue {
 			return v.equals(ONE) ? NAN : POS_INF;
 		if (equals(ONE))
 			return v;
+		if (Main.getNumeric() == Numeric.FAST)
+			return create(Math.pow(v.doubleValue(), 1 / doubleValue()));
+		if (big == null && small > 0 && small <= Integer.MAX_VALUE) {
+			NumberValue exact = v instanceof IntValue i ? i.rootExact((int) small)
+					: v instanceof DecimalValue d ? d.rootExact((int) small) : null;
+			if (exact != null)
+				return exact;
+		}
 		if (v instanceof DecimalValue d)
-			return create(BigDecimalMath.root(d.raw(), new BigDecimal(value), PRECISION));
+			return create(BigDecimalMath.root(d.raw(), new BigDecimal(raw()), PRECISION));
 		if (v instanceof IntValue i)
-			return create(BigDecimalMath.root(new BigDecimal(i.value), new BigDecimal(value), PRECISION));
+			return create(BigDecimalMath.root(new BigDecimal(i.raw()), new BigDecimal(raw()), PRECISION));
 		throw new AssertionError("Unimplemented Case.");
 	}
 	
 	@Override
 	public BigInteger raw() {
-		return value;
+		return big == null ? BigInteger.valueOf(small) : big;
+	}
+	
+	/** Returns the n'th root of this, if it is an integer, or null otherwise. */
+	IntValue rootExact(int n) {
+		BigInteger x = raw();
+		if (x.signum() < 0) {
+			if (n % 2 == 0)
+				return null;
+			IntValue r = valueOf(x.negate()).rootExact(n);
+			return r == null ? null : valueOf(r.raw().negate());
+		}
+		BigInteger r = n == 2 ? x.sqrt() : floorRoot(x, n);
+		return r.pow(n).equals(x) ? valueOf(r) : null;
+	}
+	
+	/** Returns the floor of the n'th root of a non-negative x, by Newton's iteration. */
+	private static BigInteger floorRoot(BigInteger x, int n) {
+		int bits = x.bitLength();
+		if (n >= bits)
+			return x.signum() == 0 ? BigInteger.ZERO : BigInteger.ONE;
+		BigInteger nm1 = BigInteger.valueOf(n - 1), bn = BigInteger.valueOf(n);
+		// Start above the root, so that the iteration decreases monotonically.
+		BigInteger r = BigInteger.ONE.shiftLeft((bits + n - 1) / n);
+		while (true) {
+			BigInteger next = nm1.multiply(r).add(x.divide(r.pow(n - 1))).divide(bn);
+			if (next.compareTo(r) >= 0)
+				return r;
+			r = next;
+		}
 	}
 	
 	/** Returns the faculty of this {@link IntValue}. */
 	public IntValue fac() {
-		BigInteger fac = BigInteger.ONE;
-		for (long i = value.longValueExact(); i > 0; i--)
-			fac = fac.multiply(BigInteger.valueOf(i));
-		return new IntValue(fac);
+		long n = raw().longValueExact();
+		if (n <= 20) {
+			long fac = 1;
+			for (long i = 2; i <= n; i++)
+				fac *= i;
+			return valueOf(fac);
+		}
+		return valueOf(product(2, n));
+	}
+	
+	/** Multiplies all numbers from lo to hi by binary splitting, so that the factors stay balanced. */
+	private static BigInteger product(long lo, long hi) {
+		if (hi - lo < 16) {
+			BigInteger res = BigInteger.ONE;
+			long acc = 1;
+			for (long i = lo; i <= hi; i++) {
+				if (acc > Long.MAX_VALUE / i) {
+					res = res.multiply(BigInteger.valueOf(acc));
+					acc = 1;
+				}
+				acc *= i;
+			}
+			return res.multiply(BigInteger.valueOf(acc));
+		}
+		long mid = (lo + hi) >>> 1;
+		return product(lo, mid).multiply(product(mid + 1, hi));
 	}
 }
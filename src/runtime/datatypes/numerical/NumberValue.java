@@ -6,6 +6,7 @@ import java.math.*;
 
 import building.types.specific.datatypes.*;
 import errorhandeling.*;
+import launching.*;
 import runtime.datatypes.*;
 import runtime.datatypes.textual.*;
 
@@ -16,34 +17,83 @@ public abstract class NumberValue extends Value {
 	public static final MathContext PRECISION = new MathContext(MAX_LENGTH);
 	
 	// FINITE CONSTANTS
-	public static final IntValue ONE = new IntValue(BigInteger.ONE);
-	public static final IntValue ZERO = new IntValue(BigInteger.ZERO);
-	public static final IntValue NEG_ONE = new IntValue(BigInteger.valueOf(-1));
+	public static final IntValue ONE = IntValue.valueOf(1);
+	public static final IntValue ZERO = IntValue.valueOf(0);
+	public static final IntValue NEG_ONE = IntValue.valueOf(-1);
 	
 	/** Creates a {@link NumberValue} from a {@link BigDecimal}. */
 	public static NumberValue create(BigDecimal val) {
 		int decPoints = Math.max(0, val.stripTrailingZeros().scale());
+		if (decPoints > 0 && Main.getNumeric() == Numeric.FAST)
+			return create(val.doubleValue());
 		BigInteger denom = BigInteger.TEN.pow(decPoints);
 		return create(val.multiply(new BigDecimal(denom)).toBigIntegerExact(), denom);
 	}
 	
-	/** Creates a {@link NumberValue} from a fracional, possibly reduced rational. */
+	/**
+	 * Creates a {@link NumberValue} from a fracional, possibly unreduced rational.
+	 *
+	 * The reduction of a {@link DecimalValue} happens lazily, so this only checks, if the fraction is
+	 * an integer.
+	 */
 	public static NumberValue create(BigInteger num, BigInteger denom) {
-		// Reduction
-		BigInteger gcd = num.gcd(denom);
-		num = num.divide(gcd);
-		denom = denom.divide(gcd);
 		// Int-Checks
-		if (num.equals(BigInteger.ZERO))
+		if (num.signum() == 0)
+			return ZERO;
+		if (denom.signum() == 0)
+			return NAN;
+		if (denom.signum() < 0) { // Moves the sign to the numerator
+			num = num.negate();
+			denom = denom.negate();
+		}
+		BigInteger[] qr = num.divideAndRemainder(denom);
+		if (qr[1].signum() == 0)
+			return IntValue.valueOf(qr[0]);
+		// Fractional result
+		if (Main.getNumeric() == Numeric.FAST)
+			return create(new BigDecimal(num).divide(new BigDecimal(denom), MathContext.DECIMAL64).doubleValue());
+		return new DecimalValue(num, denom);
+	}
+	
+	/** Creates a {@link NumberValue} from a fraction of longs, that can be unreduced. */
+	static NumberValue create(long num, long denom) {
+		// Int-Checks
+		if (num == 0)
 			return ZERO;
-		if (denom.equals(BigInteger.ONE))
-			return new IntValue(num);
-		if (denom.equals(BigInteger.ZERO))
+		if (denom == 0)
 			return NAN;
+		if (denom < 0) { // Moves the sign to the numerator
+			if (num == Long.MIN_VALUE || denom == Long.MIN_VALUE)
+				return create(BigInteger.valueOf(num), BigInteger.valueOf(denom));
+			num = -num;
+			denom = -denom;
+		}
+		if (num % denom == 0)
+			return IntValue.valueOf(num / denom);
 		// Fractional result
+		if (Main.getNumeric() == Numeric.FAST)
+			return create((double) num / denom);
 		return new DecimalValue(num, denom);
 	}
 	
+	/**
+	 * Creates a {@link NumberValue} from a double. NaN and the infinities become
+	 * {@link ConceptualNrValue}s, integral values become {@link IntValue}s and everything else a
+	 * {@link DoubleValue}.
+	 */
+	public static NumberValue create(double val) {
+		if (Double.isNaN(val))
+			return NAN;
+		if (Double.isInfinite(val))
+			return val > 0 ? POS_INF : NEG_INF;
+		if (val == Math.rint(val)) {
+			if (Math.abs(val) < 0x1p63)
+				return IntValue.valueOf((long) val);
+			return IntValue.valueOf(new BigDecimal(val).toBigInteger());
+		}
+		return new DoubleValue(val);
+	}
+	
 	/**
 	 * Sets the type. {@link DecimalValue} has the type{@link DataType#NR} and {@link IntValue} is a
 	 * {@link DataType#INT}.
@@ -53,6 +103,9 @@ public abstract class NumberValue extends Value {
 		assert dataType == SingleType.INT || dataType == SingleType.NR : "DataType has to be INT or NUMBER.";
 	}
 	
+	/** Returns the nearest double to this number. */
+	public abstract double doubleValue();
+	
 	// PUBLIC FINAL
 	
 	/** Inverts the sign. */
@@ -98,14 +151,16 @@ public abstract class NumberValue extends Value {
 			return true;
 		if (v == NEG_INF || this == POS_INF)
 			return false;
+		if (this instanceof DoubleValue || v instanceof DoubleValue)
+			return doubleValue() < v.doubleValue();
 		if (this instanceof IntValue x && v instanceof IntValue y)
-			return x.value.compareTo(y.value) < 0;
+			return x.compareTo(y) < 0;
 		if (this instanceof DecimalValue x && v instanceof DecimalValue y)
-			return x.num.multiply(y.denom).compareTo(y.num.multiply(x.denom)) < 0;
+			return x.compareTo(y) < 0;
 		if (this instanceof DecimalValue && v instanceof IntValue i)
-			return asInt().value.compareTo(i.value) < 0;
+			return asInt().compareTo(i) < 0;
 		if (this instanceof IntValue x && v instanceof DecimalValue y)
-			return x.value.compareTo(y.asInt().value) <= 0;
+			return x.compareTo(y.asInt()) <= 0;
 		throw new AssertionError("Undefined Case for Number-Value Comparison: " + this.raw() + " and " + v.raw());
 	}
 	
@@ -146,6 +201,12 @@ public abstract class NumberValue extends Value {
 		return false;
 	}
 	
+	/** Hashes this number, so that it matches {@link #equals(Object)}. */
+	@Override
+	public int valueHash() {
+		return System.identityHashCode(this);
+	}
+	
 	/** Value-comparison between this {@link NumberValue} and a {@link Value} or a {@link Number}. */
 	@Override
 	public final boolean equals(Object obj) {
@@ -155,11 +216,13 @@ public abstract class NumberValue extends Value {
 		if (obj instanceof Number nr) // This is important.
 			obj = create(new BigDecimal(nr.toString()));
 		if (obj instanceof NumberValue n) {
+			if (this instanceof DoubleValue || n instanceof DoubleValue)
+				return doubleValue() == n.doubleValue();
 			if (this instanceof IntValue x && n instanceof IntValue y)
-				return x.value.equals(y.value);
+				return x.compareTo(y) == 0;
 			// Turn to common denom then compare
 			if (this instanceof DecimalValue x && n instanceof DecimalValue y)
-				return x.num.multiply(y.denom).equals(y.num.multiply(x.denom));
+				return x.compareTo(y) == 0;
 		}
 		return false;
 	}
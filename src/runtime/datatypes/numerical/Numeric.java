@@ -0,0 +1,36 @@
+package runtime.datatypes.numerical;
+
+import launching.*;
+
+/**
+ * The representations of non-integer numbers. Gets selected with the launch-flag
+ * {@code --numeric=...} in {@link Main}.
+ */
+public enum Numeric {
+	
+	/** Exact rationals with 100 digits of precision. ({@link DecimalValue}) */
+	EXACT("exact"),
+	
+	/** Hardware doubles. ({@link DoubleValue}) Integers stay exact. */
+	FAST("fast");
+	
+	public final String flag;
+	
+	private Numeric(String flag) {
+		this.flag = flag;
+	}
+	
+	/** Returns the {@link Numeric} for the value of the launch-flag. */
+	public static Numeric fromFlag(String flag) {
+		for (Numeric n : values()) {
+			if (n.flag.equals(flag))
+				return n;
+		}
+		throw new IllegalArgumentException("Unknown numeric mode: " + flag);
+	}
+	
+	@Override
+	public String toString() {
+		return flag;
+	}
+}
@@ -27,7 +27,7 @@ public class CharValue extends Value {
 			ValueHolder.throwCastingExc(this, t);
 		return switch (t.type) {
 			case VAR, CHAR -> this;
-			case NR, INT -> new IntValue(value);
+			case NR, INT -> IntValue.valueOf(value);
 			case TEXT -> new TextValue(String.valueOf(value));
 			default -> ValueHolder.throwCastingExc(this, t);
 		};
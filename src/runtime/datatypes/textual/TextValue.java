@@ -65,7 +65,7 @@ public final class TextValue extends Value {
 			if (t.equals(NEG_INF.txt))
 				return NEG_INF;
 			if (t.matches("-?\\d+")) // Integer 1, -1, 10, 100, -100, 010
-				return new IntValue(new BigInteger(t));
+				return IntValue.valueOf(new BigInteger(t));
 			if (t.matches("-?\\d+.\\d+")) // Decimal
 				return NumberValue.create(new BigDecimal(t));
 			if (t.matches("-?\\d+.\\d*\\(\\d+\\)")) { // Periodic to fraction
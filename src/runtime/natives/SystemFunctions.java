@@ -1,16 +1,23 @@
 package runtime.natives;
 
 import static misc.constants.TypeConstants.*;
+import static runtime.datatypes.MaybeValue.*;
 
 import java.io.*;
 
 import building.expressions.abstractions.interfaces.*;
+import building.expressions.main.functions.*;
 import building.expressions.normal.containers.name.*;
 import building.types.specific.datatypes.*;
 import errorhandeling.*;
+import importing.filedata.paths.*;
+import misc.helper.*;
 import runtime.datatypes.*;
+import runtime.datatypes.array.*;
+import runtime.datatypes.dict.*;
 import runtime.datatypes.numerical.*;
 import runtime.datatypes.textual.*;
+import runtime.defmanager.*;
 
 /**
  * The definitions of all native functions.
@@ -40,7 +47,40 @@ public final class SystemFunctions {
 		RAND_NR("randNr", NR, NR),
 		
 		/** Returns a timestamp of the current system clock in nanoseconds. */
-		TIMESTAMP("timestamp");
+		TIMESTAMP("timestamp"),
+		
+		/** Lazily applies the function with the passed name to every element. */
+		MAP("map", VAR_ARR, TEXT),
+		
+		/** Lazily keeps the elements, for which the function with the passed name returns true. */
+		FILTER("filter", VAR_ARR, TEXT),
+		
+		/** Lazily keeps the first n elements. */
+		TAKE("take", VAR_ARR, INT),
+		
+		/** Combines all elements from left to right with the function with the passed name. */
+		REDUCE("reduce", VAR_ARR, TEXT, VAR),
+		
+		/** Returns the sum of all elements. */
+		SUM("sum", VAR_ARR),
+		
+		/** Returns the number of elements. */
+		COUNT("count", VAR_ARR),
+		
+		/** Returns a sorted copy of a number- or text-array. */
+		SORT("sort", VAR_ARR),
+		
+		/** Returns a copy, that is sorted by the comparator-function with the passed name. */
+		SORT_BY("sortby", VAR_ARR, TEXT),
+		
+		/** Returns the elements of the first set, followed by the ones of the second set. */
+		UNION("union", SET, SET),
+		
+		/** Returns the elements of the first set, that are also in the second one. */
+		INTERSECTION("intersection", SET, SET),
+		
+		/** Returns the elements of the first set, that aren't in the second one. */
+		DIFFERENCE("difference", SET, SET);
 		
 		public final String name;
 		public final DataType[] argTypes;
@@ -55,11 +95,13 @@ public final class SystemFunctions {
 	 * Call a specific native func.
 	 *
 	 * @param func is the {@link SYSTEM_FUNCTION} that describes this native func.
+	 * @param path is the {@link BlueprintPath} of the native declaration. Functions, whose names get
+	 * passed, get looked up in its blueprint.
 	 * @param params are optional passed pararameters.
 	 * @return is an optional return value. May be null.
 	 * @throws NonExpressionException for Casting or the wrong amount of params.
 	 */
-	public static Value callSystemFunc(SYSTEM_FUNCTION func, ValueHolder... params) throws NonExpressionException {
+	public static Value callSystemFunc(SYSTEM_FUNCTION func, BlueprintPath path, ValueHolder... params) throws NonExpressionException {
 		if (params.length != func.argTypes.length) {
 			throw new NonExpressionException("NativeCall", "Called the native definition " + func.name + " with " + params.length
 					+ " although " + func.argTypes.length + " were expected.");
@@ -71,9 +113,25 @@ public final class SystemFunctions {
 			case AS_RATIONAL -> asRational(params[0].asNr());
 			case RAND_NR -> randNr(params[0].asNr(), params[1].asNr());
 			case TIMESTAMP -> timestamp();
+			case MAP -> map(params[0].asVarArray(), params[1].asText(), path);
+			case FILTER -> filter(params[0].asVarArray(), params[1].asText(), path);
+			case TAKE -> take(params[0].asVarArray(), MathHelper.valToInt(params[1]), path);
+			case REDUCE -> reduce(params[0].asVarArray(), params[1].asText(), params[2].getValue(), path);
+			case SUM -> sum(params[0].asVarArray(), path);
+			case COUNT -> IntValue.valueOf(Pipeline.of(params[0].asVarArray()).count());
+			case SORT -> sort(params[0].asVarArray());
+			case SORT_BY -> sortBy(params[0].asVarArray(), params[1].asText(), path);
+			case UNION -> asSet(params[0]).union(asSet(params[1]));
+			case INTERSECTION -> asSet(params[0]).intersection(asSet(params[1]));
+			case DIFFERENCE -> asSet(params[0]).difference(asSet(params[1]));
 		};
 	}
 	
+	/** Casts a parameter to a set. An array loses its duplicates. */
+	private static SetValue asSet(ValueHolder param) throws NonExpressionException {
+		return (SetValue) param.as(SET);
+	}
+	
 	/** Returns the matching system-function for this name. */
 	public static SYSTEM_FUNCTION getSystemFunction(Name name) {
 		for (SYSTEM_FUNCTION f : SYSTEM_FUNCTION.values())
@@ -109,7 +167,7 @@ public final class SystemFunctions {
 	private static TextValue asRational(NumberValue nr) {
 		if (nr instanceof DecimalValue d)
 			return new TextValue(d.asRational());
-		return nr instanceof IntValue i ? new TextValue(i.value.toString() + "/1") : nr.asText();
+		return nr instanceof IntValue i ? new TextValue(i + "/1") : nr.asText();
 	}
 	
 	/** Implementation: native func randNr(nr, nr) -> nr */
@@ -119,6 +177,116 @@ public final class SystemFunctions {
 	
 	/** Implementation: native func timestamp() -> int */
 	private static IntValue timestamp() {
-		return new IntValue(System.nanoTime());
+		return IntValue.valueOf(System.nanoTime());
+	}
+	
+	// PIPELINES--------------------------------------------------
+	
+	/** Implementation: native func map(var[], text) -> var[] */
+	private static ArrayValue map(ArrayValue arr, TextValue func, BlueprintPath path) {
+		Definition f = findFunc(func, 1, path);
+		return Pipeline.of(arr).map(v -> {
+			Value res = result(f, path, v);
+			if (res == NULL)
+				throw new PseudocodeException("NullNotAllowed", "The function " + func + " mapped " + v + " to null.", path);
+			return res;
+		}).toArray();
+	}
+	
+	/** Implementation: native func filter(var[], text) -> var[] */
+	private static ArrayValue filter(ArrayValue arr, TextValue func, BlueprintPath path) {
+		Definition f = findFunc(func, 1, path);
+		return source(arr, path).filter(v -> {
+			try {
+				return result(f, path, v).asBool().value;
+			} catch (NonExpressionException e) {
+				throw new PseudocodeException(e, path);
+			}
+		}).toArray();
+	}
+	
+	/** Implementation: native func take(var[], int) -> var[] */
+	private static ArrayValue take(ArrayValue arr, int n, BlueprintPath path) throws NonExpressionException {
+		if (n < 0)
+			throw new NonExpressionException("Take", "Cannot take " + n + " elements.");
+		return source(arr, path).take(n).toArray();
+	}
+	
+	/** Implementation: native func reduce(var[], text, var) -> var */
+	private static Value reduce(ArrayValue arr, TextValue func, Value identity, BlueprintPath path) {
+		Definition f = findFunc(func, 2, path);
+		return Pipeline.of(arr).reduce(identity, (a, b) -> result(f, path, a, b), false);
+	}
+	
+	/** Implementation: native func sum(var[]) -> nr */
+	private static Value sum(ArrayValue arr, BlueprintPath path) {
+		return Pipeline.of(arr).reduce(NumberValue.ZERO, (a, b) -> {
+			try {
+				return a.asNr().add(b.asNr());
+			} catch (NonExpressionException e) {
+				throw new PseudocodeException(e, path);
+			}
+		}, true);
+	}
+	
+	/** Implementation: native func sort(var[]) -> var[] */
+	private static ArrayValue sort(ArrayValue arr) throws NonExpressionException {
+		try {
+			return arr.sorted();
+		} catch (ArithmeticException e) {
+			throw new NonExpressionException("Sort", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Implementation: native func sortby(var[], text) -> var[]
+	 *
+	 * The comparator returns a negative number, if its first argument comes first, 0 if both are equal,
+	 * and a positive number otherwise.
+	 */
+	private static ArrayValue sortBy(ArrayValue arr, TextValue func, BlueprintPath path) throws NonExpressionException {
+		Definition f = findFunc(func, 2, path);
+		try {
+			return arr.sorted((a, b) -> {
+				try {
+					NumberValue res = result(f, path, a, b).asNr();
+					return res.isNegative() ? -1 : res.valueCompare(NumberValue.ZERO) ? 0 : 1;
+				} catch (NonExpressionException e) {
+					throw new PseudocodeException(e, path);
+				}
+			});
+		} catch (IllegalArgumentException e) {
+			throw new NonExpressionException("Sort", "The comparator " + func + " contradicts itself.");
+		}
+	}
+	
+	/**
+	 * Returns the {@link Pipeline} over an array, whose elements get kept as they are. Arrays, that
+	 * allow {@link MaybeValue#NULL}, get checked lazily, as the result cannot hold it.
+	 */
+	private static Pipeline source(ArrayValue arr, BlueprintPath path) {
+		if (!arr.allowsNull())
+			return Pipeline.of(arr);
+		return Pipeline.of(arr).map(v -> {
+			if (v == NULL)
+				throw new PseudocodeException("NullNotAllowed", "A pipeline cannot hold null.", path);
+			return v;
+		}, true);
+	}
+	
+	/** Returns the function with the passed name and number of parameters. */
+	private static Definition findFunc(TextValue name, int params, BlueprintPath path) {
+		Definition def = DefManager.get(name.raw(), params, path.blueprint);
+		if (def == null)
+			throw new PseudocodeException("DefNotFound", "There is no function " + name.raw() + " with " + params + " parameters.", path);
+		return def;
+	}
+	
+	/** Calls a function, that has to return a value. */
+	private static Value result(Definition f, BlueprintPath path, Value... args) {
+		Value res = f.call(args);
+		if (res == null)
+			throw new PseudocodeException("MissingReturn", "The function " + f.getNameString() + " has to return a value.", path);
+		return res;
 	}
 }